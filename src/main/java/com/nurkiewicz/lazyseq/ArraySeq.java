@@ -0,0 +1,132 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Finite, fully evaluated sequence backed by a range of an array. Tails, {@link #drop(long)},
+ * {@link #take(long)} and {@link #slice(long, long)} are views over the same array, whilst
+ * {@link #get(int)} and {@link #size()} are <i>O(1)</i>. Never empty, see {@link #wrap(Object[])}.
+ */
+final class ArraySeq<E> extends LazySeq<E> {
+
+	private final Object[] elements;
+	private final int from;
+	private final int to;
+
+	private ArraySeq(Object[] elements, int from, int to) {
+		this.elements = elements;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Takes ownership of <code>elements</code>, caller must not modify it afterwards.
+	 */
+	static <E> LazySeq<E> wrap(Object[] elements) {
+		if (elements.length == 0) {
+			return empty();
+		}
+		for (Object element : elements) {
+			Objects.requireNonNull(element);
+		}
+		return new ArraySeq<>(elements, 0, elements.length);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E head() {
+		return (E) elements[from];
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		return from + 1 < to ? new ArraySeq<>(elements, from + 1, to) : LazySeq.<E>empty();
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return true;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return to - from;
+	}
+
+	@Override
+	long knownSize() {
+		return size();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return (E) elements[from + index];
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize >= size()) {
+			return this;
+		}
+		return maxSize > 0 ? new ArraySeq<>(elements, from, from + (int) maxSize) : LazySeq.<E>empty();
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		if (startInclusive >= size()) {
+			return empty();
+		}
+		return startInclusive > 0 ? new ArraySeq<>(elements, from + (int) startInclusive, to) : this;
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return Pipeline.<E, R>map(this, mapper).seq();
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head()).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		for (int i = from; i < to; ++i) {
+			action.accept((E) elements[i]);
+		}
+	}
+
+	@Override
+	public LazySeq<E> force() {
+		return this;
+	}
+
+}
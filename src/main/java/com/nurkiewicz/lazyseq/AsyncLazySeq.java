@@ -0,0 +1,275 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Lazy sequence whose structure is discovered asynchronously, counterpart of {@link LazySeq} for I/O-bound sources
+ * like paged queries. Instead of blocking in {@link LazySeq#tail()}, suppliers run on the executor chosen by the caller
+ * (or return {@link CompletionStage} themselves) and all accessors return {@link CompletableFuture}s.
+ * <p/>
+ * Each part is requested lazily, at most once at a time and memoized afterwards. If the supplier fails,
+ * returned future completes exceptionally and the next access retries, just like with {@link LazySeq}.
+ * Traversal with {@link #forEachAsync(Consumer)} and {@link #foldAsync(Object, BiFunction)} never parks a thread
+ * and does not grow the stack, no matter how many elements are already available.
+ */
+public final class AsyncLazySeq<E> {
+
+	private static final AsyncLazySeq<?> EMPTY = new AsyncLazySeq<>(CompletableFuture.completedFuture(null));
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<AsyncLazySeq, Object> NODE =
+			AtomicReferenceFieldUpdater.newUpdater(AsyncLazySeq.class, Object.class, "nodeOrSupplier");
+
+	/**
+	 * {@link Supplier} of {@link CompletionStage} until first requested, then {@link CompletableFuture} of {@link Node}.
+	 * <code>null</code> node denotes empty sequence.
+	 */
+	private volatile Object nodeOrSupplier;
+
+	private AsyncLazySeq(Object nodeOrSupplier) {
+		this.nodeOrSupplier = nodeOrSupplier;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <E> AsyncLazySeq<E> empty() {
+		return (AsyncLazySeq<E>) EMPTY;
+	}
+
+	@SafeVarargs
+	public static <E> AsyncLazySeq<E> of(E... elements) {
+		AsyncLazySeq<E> result = empty();
+		for (int i = elements.length - 1; i >= 0; --i) {
+			result = cell(elements[i], result);
+		}
+		return result;
+	}
+
+	/**
+	 * Sequence starting with <code>head</code>, tail supplier is invoked on <code>executor</code> once tail is requested.
+	 */
+	public static <E> AsyncLazySeq<E> cons(E head, Supplier<AsyncLazySeq<E>> tailFun, Executor executor) {
+		return cell(head, defer(tailFun, executor));
+	}
+
+	/**
+	 * Already available <code>elements</code> followed by tail computed on <code>executor</code> once reached,
+	 * asynchronous version of {@link LazySeq#concat(Iterable, Supplier)}, e.g. for loading subsequent pages.
+	 */
+	public static <E> AsyncLazySeq<E> concat(Iterable<E> elements, Supplier<AsyncLazySeq<E>> tailFun, Executor executor) {
+		final List<E> list = new ArrayList<>();
+		elements.forEach(list::add);
+		return prepend(list.toArray(), defer(tailFun, executor));
+	}
+
+	/**
+	 * Sequence computed entirely by <code>seqFun</code> invoked on <code>executor</code> when first accessed.
+	 */
+	public static <E> AsyncLazySeq<E> defer(Supplier<AsyncLazySeq<E>> seqFun, Executor executor) {
+		Objects.requireNonNull(seqFun);
+		Objects.requireNonNull(executor);
+		return defer(() -> CompletableFuture.supplyAsync(seqFun, executor));
+	}
+
+	/**
+	 * Sequence computed by already asynchronous <code>seqFun</code> (e.g. non-blocking client call) when first accessed.
+	 */
+	public static <E> AsyncLazySeq<E> defer(Supplier<? extends CompletionStage<AsyncLazySeq<E>>> seqFun) {
+		Objects.requireNonNull(seqFun);
+		final Supplier<CompletionStage<Node<E>>> nodeFun = () -> seqFun.get().thenCompose(AsyncLazySeq::node);
+		return new AsyncLazySeq<>(nodeFun);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> AsyncLazySeq<E> prepend(Object[] elements, AsyncLazySeq<E> tail) {
+		AsyncLazySeq<E> result = tail;
+		for (int i = elements.length - 1; i >= 0; --i) {
+			result = cell((E) elements[i], result);
+		}
+		return result;
+	}
+
+	private static <E> AsyncLazySeq<E> cell(E head, AsyncLazySeq<E> tail) {
+		return new AsyncLazySeq<>(CompletableFuture.completedFuture(new Node<>(Objects.requireNonNull(head), tail)));
+	}
+
+	/**
+	 * Completes with first element or with {@link NoSuchElementException} if this sequence turns out to be empty.
+	 */
+	public CompletableFuture<E> headAsync() {
+		return node().thenApply(node -> {
+			if (node == null) {
+				throw new NoSuchElementException("head of empty stream");
+			}
+			return node.head;
+		});
+	}
+
+	/**
+	 * Completes once both this cell and the tail are known, tail supplier is triggered if needed.
+	 * Fails with {@link NoSuchElementException} if this sequence turns out to be empty.
+	 */
+	public CompletableFuture<AsyncLazySeq<E>> tailAsync() {
+		return node().thenCompose(node -> {
+			if (node == null) {
+				throw new NoSuchElementException("tail of empty stream");
+			}
+			return node.tail.node().thenApply(ignored -> node.tail);
+		});
+	}
+
+	public CompletableFuture<Boolean> isEmptyAsync() {
+		return node().thenApply(Objects::isNull);
+	}
+
+	/**
+	 * Runs <code>action</code> for each element as soon as it becomes available, on whichever thread delivered it.
+	 * Returned future completes after last element or exceptionally if <code>action</code> or any supplier failed.
+	 */
+	public CompletableFuture<Void> forEachAsync(Consumer<? super E> action) {
+		return this.<Void>foldAsync(null, (ignored, element) -> {
+			action.accept(element);
+			return null;
+		});
+	}
+
+	/**
+	 * Asynchronous {@link LazySeq#reduce(Object, BiFunction)}, see {@link #forEachAsync(Consumer)}.
+	 */
+	public <U> CompletableFuture<U> foldAsync(U identity, BiFunction<U, ? super E, U> accumulator) {
+		final CompletableFuture<U> result = new CompletableFuture<>();
+		new Fold<E, U>(accumulator, result).resume(this, identity);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Node<E>> node() {
+		while (true) {
+			final Object cur = nodeOrSupplier;
+			if (cur instanceof CompletableFuture) {
+				return (CompletableFuture<Node<E>>) cur;
+			}
+			final CompletableFuture<Node<E>> promise = new CompletableFuture<>();
+			if (NODE.compareAndSet(this, cur, promise)) {
+				start((Supplier<CompletionStage<Node<E>>>) cur, promise);
+				return promise;
+			}
+		}
+	}
+
+	private void start(Supplier<CompletionStage<Node<E>>> nodeFun, CompletableFuture<Node<E>> promise) {
+		final CompletionStage<Node<E>> stage;
+		try {
+			stage = nodeFun.get();
+		} catch (RuntimeException | Error e) {
+			NODE.set(this, nodeFun);
+			promise.completeExceptionally(e);
+			return;
+		}
+		stage.whenComplete((node, e) -> {
+			if (e != null) {
+				NODE.compareAndSet(this, promise, nodeFun);
+				promise.completeExceptionally(e);
+			} else {
+				promise.complete(node);
+			}
+		});
+	}
+
+	/**
+	 * Evaluated prefix, without triggering any supplier, e.g. <code>[1, 2, ?]</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public String toString() {
+		final StringBuilder s = new StringBuilder("[");
+		AsyncLazySeq<E> cur = this;
+		while (true) {
+			final Object state = cur.nodeOrSupplier;
+			if (!(state instanceof CompletableFuture) || !isAvailable((CompletableFuture<?>) state)) {
+				s.append(s.length() > 1 ? ", ?" : "?");
+				break;
+			}
+			final Node<E> node = ((CompletableFuture<Node<E>>) state).join();
+			if (node == null) {
+				break;
+			}
+			if (s.length() > 1) {
+				s.append(", ");
+			}
+			s.append(node.head);
+			cur = node.tail;
+		}
+		return s.append("]").toString();
+	}
+
+	private static boolean isAvailable(CompletableFuture<?> future) {
+		return future.isDone() && !future.isCompletedExceptionally();
+	}
+
+	private static final class Node<E> {
+		final E head;
+		final AsyncLazySeq<E> tail;
+
+		Node(E head, AsyncLazySeq<E> tail) {
+			this.head = head;
+			this.tail = tail;
+		}
+	}
+
+	/**
+	 * Trampolined traversal: consumes already available cells in a loop and suspends on the first pending one,
+	 * resuming from the thread that completes it.
+	 */
+	private static final class Fold<E, U> {
+
+		private final BiFunction<U, ? super E, U> accumulator;
+		private final CompletableFuture<U> result;
+
+		Fold(BiFunction<U, ? super E, U> accumulator, CompletableFuture<U> result) {
+			this.accumulator = accumulator;
+			this.result = result;
+		}
+
+		void resume(AsyncLazySeq<E> seq, U acc) {
+			try {
+				AsyncLazySeq<E> cur = seq;
+				U soFar = acc;
+				while (true) {
+					final CompletableFuture<Node<E>> future = cur.node();
+					if (!future.isDone()) {
+						final U suspended = soFar;
+						final AsyncLazySeq<E> pending = cur;
+						future.whenComplete((node, e) -> {
+							if (e != null) {
+								result.completeExceptionally(e);
+							} else {
+								resume(pending, suspended);
+							}
+						});
+						return;
+					}
+					final Node<E> node = future.join();
+					if (node == null) {
+						result.complete(soFar);
+						return;
+					}
+					soFar = accumulator.apply(soFar, node.head);
+					cur = node.tail;
+				}
+			} catch (RuntimeException | Error e) {
+				result.completeExceptionally(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cell that is a view over a block of already evaluated heads. All cells of one block share
+ * a single memoized supplier of whatever follows the block, so allocation of suppliers and
+ * synchronization are paid once per block rather than once per element.
+ */
+class ChunkedCons<E> extends LazySeq<E> {
+
+	private final Chunk<E> chunk;
+	private final int offset;
+
+	ChunkedCons(Object[] elements, Supplier<LazySeq<E>> restFun) {
+		this(new Chunk<>(requireNonNullElements(elements), elements.length, restFun), 0);
+	}
+
+	ChunkedCons(Object[] elements, LazySeq<E> rest) {
+		this(new Chunk<>(requireNonNullElements(elements), elements.length, rest), 0);
+	}
+
+	private ChunkedCons(Chunk<E> chunk, int offset) {
+		this.chunk = chunk;
+		this.offset = offset;
+	}
+
+	private static Object[] requireNonNullElements(Object[] elements) {
+		for (Object element : elements) {
+			Objects.requireNonNull(element);
+		}
+		return elements;
+	}
+
+	@Override
+	public E head() {
+		return chunk.get(offset);
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		if (offset + 1 < chunk.end) {
+			return new ChunkedCons<>(chunk, offset + 1);
+		}
+		return chunk.rest();
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return offset + 1 < chunk.end || chunk.isRestDefined();
+	}
+
+	private int remaining() {
+		return chunk.end - offset;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index >= 0 && index < remaining()) {
+			return chunk.get(offset + index);
+		}
+		return super.get(index);
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		final Object[] mapped = new Object[remaining()];
+		for (int i = 0; i < mapped.length; ++i) {
+			mapped[i] = mapper.apply(chunk.get(offset + i));
+		}
+		return new ChunkedCons<>(mapped, () -> chunk.rest().map(mapper));
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return new DeferredSeq<>(() -> {
+			final Object[] matching = new Object[remaining()];
+			int count = 0;
+			for (int i = offset; i < chunk.end; ++i) {
+				final E element = chunk.get(i);
+				if (predicate.test(element)) {
+					matching[count++] = element;
+				}
+			}
+			if (count == 0) {
+				return chunk.rest().filter(predicate);
+			}
+			return new ChunkedCons<>(Arrays.copyOf(matching, count), () -> chunk.rest().filter(predicate));
+		});
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			for (int i = offset; i < chunk.end; ++i) {
+				mapper.apply(chunk.get(i)).forEach(result::add);
+			}
+			return concat(result, () -> chunk.rest().flatMap(mapper));
+		});
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize <= remaining()) {
+			return new ChunkedCons<>(new Chunk<>(chunk.elements, offset + (int) maxSize, empty()), offset);
+		}
+		final long left = maxSize - remaining();
+		return new ChunkedCons<>(new Chunk<>(chunk.elements, chunk.end, () -> chunk.rest().takeUnsafe(left)), offset);
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		if (startInclusive == 0) {
+			return this;
+		}
+		ChunkedCons<E> cur = this;
+		long left = startInclusive;
+		while (left >= cur.remaining()) {
+			left -= cur.remaining();
+			final LazySeq<E> rest = cur.chunk.rest();
+			if (!(rest instanceof ChunkedCons)) {
+				return rest.drop(left);
+			}
+			cur = (ChunkedCons<E>) rest;
+		}
+		return new ChunkedCons<>(cur.chunk, cur.offset + (int) left);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	private static class Chunk<E> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Chunk, Object> REST =
+				AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Object.class, "restOrSupplier");
+
+		private final Object[] elements;
+		private final int end;
+		private volatile Object restOrSupplier;
+
+		Chunk(Object[] elements, int end, Supplier<LazySeq<E>> restFun) {
+			this.elements = elements;
+			this.end = end;
+			this.restOrSupplier = Objects.requireNonNull(restFun);
+		}
+
+		Chunk(Object[] elements, int end, LazySeq<E> rest) {
+			this.elements = elements;
+			this.end = end;
+			this.restOrSupplier = Objects.requireNonNull(rest);
+		}
+
+		@SuppressWarnings("unchecked")
+		E get(int index) {
+			return (E) elements[index];
+		}
+
+		LazySeq<E> rest() {
+			return TailMemo.evaluate(REST, this);
+		}
+
+		boolean isRestDefined() {
+			return TailMemo.isDefined(restOrSupplier);
+		}
+
+	}
+
+}
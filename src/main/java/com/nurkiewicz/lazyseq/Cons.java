@@ -2,6 +2,7 @@ package com.nurkiewicz.lazyseq;
 
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -11,13 +12,17 @@ import java.util.function.Supplier;
  * @since 5/8/13, 9:08 PM
  */
 class Cons<E> extends LazySeq<E> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Cons, Object> TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(Cons.class, Object.class, "tailOrSupplier");
+
 	private final E head;
-	private volatile LazySeq<E> tailOrNull;
-	private final Supplier<LazySeq<E>> tailFun;
+	private volatile Object tailOrSupplier;
 
 	Cons(E head, Supplier<LazySeq<E>> tailFun) {
 		this.head = Objects.requireNonNull(head);
-		this.tailFun = Objects.requireNonNull(tailFun);
+		this.tailOrSupplier = Objects.requireNonNull(tailFun);
 	}
 
 	@Override
@@ -27,39 +32,35 @@ class Cons<E> extends LazySeq<E> {
 
 	@Override
 	public LazySeq<E> tail() {
-		if (!isTailDefined()) {
-			synchronized (this) {
-				if (!isTailDefined()) {
-					tailOrNull = tailFun.get();
-				}
-			}
-		}
-		return tailOrNull;
+		return TailMemo.evaluate(TAIL, this);
 	}
 
 	@Override
 	protected boolean isTailDefined() {
-		return tailOrNull != null;
+		return TailMemo.isDefined(tailOrSupplier);
 	}
 
 	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
-		return cons(mapper.apply(head()), () -> tail().map(mapper));
+		return Pipeline.<E, R>map(this, mapper).seq();
 	}
 
 	@Override
 	public LazySeq<E> filter(Predicate<? super E> predicate) {
-		if (predicate.test(head)) {
-			return cons(head, () -> tail().filter(predicate));
-		} else {
-			return tail().filter(predicate);
-		}
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
 	}
 
 	@Override
 	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
-		final ArrayList<R> result = new ArrayList<>();
-		mapper.apply(head).forEach(result::add);
-		return concat(result, () -> tail().flatMap(mapper));
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
 	}
 
 	@Override
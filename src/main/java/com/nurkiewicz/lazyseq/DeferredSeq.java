@@ -0,0 +1,170 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.*;
+
+/**
+ * Sequence whose structure, including emptiness and head, is not known until first observed.
+ * Used by operations like {@link #filter(Predicate)} that would otherwise have to scan underlying sequence
+ * eagerly to find the first matching element. Transformations of deferred sequence are deferred as well,
+ * thus building arbitrary pipeline is <i>O(1)</i>.
+ * <p/>
+ * Supplier may return another {@link DeferredSeq}, such chains are unwrapped in a loop, not recursively.
+ */
+class DeferredSeq<E> extends LazySeq<E> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<DeferredSeq, Object> SEQ =
+			AtomicReferenceFieldUpdater.newUpdater(DeferredSeq.class, Object.class, "seqOrSupplier");
+
+	private volatile Object seqOrSupplier;
+
+	DeferredSeq(Supplier<LazySeq<E>> seqFun) {
+		this.seqOrSupplier = Objects.requireNonNull(seqFun);
+	}
+
+	@SuppressWarnings("unchecked")
+	private LazySeq<E> evaluate() {
+		LazySeq<E> seq = TailMemo.evaluate(SEQ, this);
+		if (seq instanceof DeferredSeq) {
+			while (seq instanceof DeferredSeq) {
+				seq = TailMemo.evaluate(SEQ, (DeferredSeq<E>) seq);
+			}
+			SEQ.set(this, seq);
+		}
+		return seq;
+	}
+
+	/**
+	 * @return evaluated sequence or <code>null</code> if not yet evaluated
+	 */
+	@SuppressWarnings("unchecked")
+	LazySeq<E> evaluatedOrNull() {
+		Object cur = seqOrSupplier;
+		while (cur instanceof DeferredSeq) {
+			cur = ((DeferredSeq<E>) cur).seqOrSupplier;
+		}
+		return TailMemo.isDefined(cur) ? (LazySeq<E>) cur : null;
+	}
+
+	@Override
+	public E head() {
+		return evaluate().head();
+	}
+
+	@Override
+	public Optional<E> headOption() {
+		return evaluate().headOption();
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		return evaluate().tail();
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		final LazySeq<E> evaluated = evaluatedOrNull();
+		return evaluated != null && evaluated.isTailDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return evaluate().isEmpty();
+	}
+
+	@Override
+	public E get(int index) {
+		return evaluate().get(index);
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return new DeferredSeq<>(() -> evaluate().map(mapper));
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return new DeferredSeq<>(() -> evaluate().filter(predicate));
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> evaluate().flatMap(mapper));
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		return new DeferredSeq<>(() -> evaluate().takeUnsafe(maxSize));
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		return new DeferredSeq<>(() -> evaluate().dropUnsafe(startInclusive));
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return new DeferredSeq<>(() -> evaluate().takeWhile(predicate));
+	}
+
+	@Override
+	public LazySeq<E> dropWhile(Predicate<? super E> predicate) {
+		return new DeferredSeq<>(() -> evaluate().dropWhile(predicate));
+	}
+
+	@Override
+	public LazySeq<E> distinct() {
+		return new DeferredSeq<>(() -> evaluate().distinct());
+	}
+
+	@Override
+	public <S, R> LazySeq<R> zip(LazySeq<? extends S> second, BiFunction<? super E, ? super S, ? extends R> zipper) {
+		return evaluate().zip(second, zipper);
+	}
+
+	@Override
+	protected LazySeq<List<E>> slidingUnsafe(int size) {
+		return evaluate().slidingUnsafe(size);
+	}
+
+	@Override
+	protected LazySeq<List<E>> groupedUnsafe(int size) {
+		return evaluate().groupedUnsafe(size);
+	}
+
+	@Override
+	public LazySeq<E> scan(E initial, BinaryOperator<E> fun) {
+		return evaluate().scan(initial, fun);
+	}
+
+	@Override
+	public boolean startsWith(Iterator<E> iterator) {
+		return evaluate().startsWith(iterator);
+	}
+
+	@Override
+	public LazySeq<E> force() {
+		evaluate().force();
+		return this;
+	}
+
+	@Override
+	public LazySeq<E> parallelForce(ForkJoinPool pool) {
+		evaluate().parallelForce(pool);
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return evaluate().equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return evaluate().hashCode();
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.nurkiewicz.lazyseq;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -31,37 +32,50 @@ class FixedCons<E> extends LazySeq<E> {
 
 	@Override
 	protected boolean isTailDefined() {
-		return true;
+		return !(tail instanceof DeferredSeq) || ((DeferredSeq<E>) tail).evaluatedOrNull() != null;
 	}
 
 	@Override
 	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
-		return cons(mapper.apply(head), tail.map(mapper));
+		final List<R> mapped = new ArrayList<>();
+		LazySeq<E> cur = this;
+		while (cur instanceof FixedCons) {
+			mapped.add(mapper.apply(cur.head()));
+			cur = cur.tail();
+		}
+		return concat(mapped, cur.map(mapper));
 	}
 
 	@Override
 	public LazySeq<E> filter(Predicate<? super E> predicate) {
-		if (predicate.test(head)) {
-			return cons(head, tail.filter(predicate));
-		} else {
-			return tail.filter(predicate);
-		}
+		return new DeferredSeq<>(() -> {
+			if (predicate.test(head)) {
+				return cons(head, tail.filter(predicate));
+			} else {
+				return tail.filter(predicate);
+			}
+		});
 	}
 
 	@Override
 	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
-		final ArrayList<R> result = new ArrayList<>();
-		mapper.apply(head).forEach(result::add);
-		return concat(result, tail.flatMap(mapper));
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head).forEach(result::add);
+			return concat(result, tail.flatMap(mapper));
+		});
 	}
 
 	@Override
 	protected LazySeq<E> takeUnsafe(long maxSize) {
-		if (maxSize > 1) {
-			return cons(head, tail.takeUnsafe(maxSize - 1));
-		} else {
-			return LazySeq.of(head);
+		final List<E> taken = new ArrayList<>();
+		LazySeq<E> cur = this;
+		while (taken.size() < maxSize && cur instanceof FixedCons) {
+			taken.add(cur.head());
+			cur = cur.tail();
 		}
+		final long left = maxSize - taken.size();
+		return concat(taken, left > 0 ? cur.take(left) : LazySeq.<E>empty());
 	}
 
 	@Override
@@ -0,0 +1,45 @@
+package com.nurkiewicz.lazyseq;
+
+/**
+ * Reactive streams interfaces with the same shape and contract as <code>java.util.concurrent.Flow</code>
+ * (and Reactive Streams 1.0), available on Java 8 without any dependency.
+ * Neither extends the other, so bridging to <code>java.util.concurrent.Flow</code> or library counterparts takes
+ * wrapping every publisher, subscriber and subscription passing the boundary, in both directions.
+ * <code>JdkFlowAdapters</code> in test sources of this project is a sample for Java 9+.
+ *
+ * @see LazySeq#toPublisher(java.util.concurrent.Executor)
+ * @see LazySeq#fromPublisher(Flow.Publisher, int)
+ */
+public final class Flow {
+
+	private Flow() {
+	}
+
+	@FunctionalInterface
+	public interface Publisher<T> {
+
+		void subscribe(Subscriber<? super T> subscriber);
+
+	}
+
+	public interface Subscriber<T> {
+
+		void onSubscribe(Subscription subscription);
+
+		void onNext(T item);
+
+		void onError(Throwable throwable);
+
+		void onComplete();
+
+	}
+
+	public interface Subscription {
+
+		void request(long n);
+
+		void cancel();
+
+	}
+
+}
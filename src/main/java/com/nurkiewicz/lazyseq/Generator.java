@@ -0,0 +1,197 @@
+package com.nurkiewicz.lazyseq;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Sequence of elements yielded by imperative producer running on its own thread,
+ * see {@link LazySeq#generate(Consumer, Executor)}. The producer is started when the sequence is first accessed
+ * and each {@link Yielder#yield(Object)} hands single element over to the consumer, parking the producer until
+ * the tail of that element is evaluated. Only the {@link Channel} is shared between both threads, the producer
+ * refers to this generator weakly and unwinds once the sequence is no longer reachable.
+ * Both sides wait on {@link Condition}s of {@link ReentrantLock}s, never on monitors, so virtual threads
+ * can run either side without pinning their carriers.
+ */
+final class Generator<E> {
+
+	static final Executor DAEMON_THREADS = task -> {
+		final Thread thread = new Thread(task, "LazySeq-generator");
+		thread.setDaemon(true);
+		thread.start();
+	};
+
+	private static final long ABANDONMENT_CHECK_MILLIS = 1_000;
+	private static final Object END = new Object();
+
+	private final Consumer<Yielder<E>> producer;
+	private final Executor executor;
+	private final Channel<E> channel = new Channel<>(new WeakReference<>(this));
+	private final ReentrantLock lock = new ReentrantLock();
+	private boolean started;
+	private Object terminal;
+
+	Generator(Consumer<Yielder<E>> producer, Executor executor) {
+		this.producer = Objects.requireNonNull(producer);
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	LazySeq<E> seq() {
+		return new DeferredSeq<>(this::next);
+	}
+
+	private LazySeq<E> next() {
+		lock.lock();
+		try {
+			return take();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private LazySeq<E> take() {
+		if (terminal != null) {
+			return terminated();
+		}
+		if (!started) {
+			start();
+		}
+		final Object signal = channel.request();
+		if (signal == END || signal instanceof Failure) {
+			terminal = signal;
+			return terminated();
+		}
+		return LazySeq.cons((E) signal, this::next);
+	}
+
+	private void start() {
+		final Channel<E> channel = this.channel;
+		final Consumer<Yielder<E>> producer = this.producer;
+		executor.execute(() -> channel.run(producer));
+		started = true;
+	}
+
+	private LazySeq<E> terminated() {
+		if (terminal instanceof Failure) {
+			final Throwable cause = ((Failure) terminal).cause;
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		return LazySeq.empty();
+	}
+
+	/**
+	 * Single-slot handoff between consumer requesting elements and producer yielding them.
+	 */
+	private static final class Channel<E> implements Yielder<E> {
+
+		private final WeakReference<Generator<E>> owner;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition requestArrived = lock.newCondition();
+		private final Condition slotFilled = lock.newCondition();
+		private boolean requested;
+		private Object slot;
+
+		Channel(WeakReference<Generator<E>> owner) {
+			this.owner = owner;
+		}
+
+		Object request() {
+			lock.lock();
+			try {
+				requested = true;
+				requestArrived.signal();
+				while (slot == null) {
+					slotFilled.await();
+				}
+				final Object signal = slot;
+				slot = null;
+				return signal;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for next element", e);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void run(Consumer<Yielder<E>> producer) {
+			try {
+				awaitRequest();
+				producer.accept(this);
+				put(END);
+			} catch (Abandoned e) {
+				//nobody will ever ask for more
+			} catch (Throwable e) {
+				put(new Failure(e));
+			}
+		}
+
+		@Override
+		public void yield(E element) {
+			put(Objects.requireNonNull(element));
+			awaitRequest();
+		}
+
+		private void put(Object signal) {
+			lock.lock();
+			try {
+				requested = false;
+				slot = signal;
+				slotFilled.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void awaitRequest() {
+			lock.lock();
+			try {
+				while (!requested) {
+					if (owner.get() == null) {
+						throw Abandoned.INSTANCE;
+					}
+					requestArrived.await(ABANDONMENT_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Generator interrupted", e);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+	}
+
+	/**
+	 * Unwinds the producer of unreachable sequence, not meant to be caught.
+	 */
+	private static final class Abandoned extends Error {
+		private static final long serialVersionUID = 1L;
+
+		static final Abandoned INSTANCE = new Abandoned();
+
+		private Abandoned() {
+			super("Sequence no longer reachable", null, false, false);
+		}
+	}
+
+	private static final class Failure {
+		final Throwable cause;
+
+		Failure(Throwable cause) {
+			this.cause = cause;
+		}
+	}
+
+}
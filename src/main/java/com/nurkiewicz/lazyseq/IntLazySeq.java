@@ -0,0 +1,422 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of primitive <code>int</code> values, specialized version of {@link LazySeq}&lt;{@link Integer}&gt;.
+ * Elements are evaluated and stored in chunks of plain <code>int[]</code> arrays, thus no boxing takes place.
+ * All transformations are lazy, each chunk is computed when first observed and memoized afterwards.
+ */
+public final class IntLazySeq {
+
+	static final int CHUNK_SIZE = 64;
+
+	private static final Chunk EMPTY_CHUNK = new Chunk(new int[0], 0, 0, null);
+	private static final IntLazySeq EMPTY = new IntLazySeq(EMPTY_CHUNK, 0);
+
+	private static final AtomicReferenceFieldUpdater<IntLazySeq, Object> CHUNK =
+			AtomicReferenceFieldUpdater.newUpdater(IntLazySeq.class, Object.class, "chunkOrSupplier");
+
+	private volatile Object chunkOrSupplier;
+	private final int offset;
+
+	private IntLazySeq(Supplier<Chunk> chunkFun) {
+		this.chunkOrSupplier = chunkFun;
+		this.offset = 0;
+	}
+
+	private IntLazySeq(Chunk chunk, int offset) {
+		this.chunkOrSupplier = chunk;
+		this.offset = offset;
+	}
+
+	public static IntLazySeq empty() {
+		return EMPTY;
+	}
+
+	public static IntLazySeq of(int... elements) {
+		if (elements.length == 0) {
+			return empty();
+		}
+		return new IntLazySeq(new Chunk(elements.clone(), 0, elements.length, empty()), 0);
+	}
+
+	public static IntLazySeq numbers(int start) {
+		return numbers(start, 1);
+	}
+
+	public static IntLazySeq numbers(int start, int step) {
+		return new IntLazySeq(() -> {
+			final int[] elements = new int[CHUNK_SIZE];
+			int cur = start;
+			for (int i = 0; i < CHUNK_SIZE; ++i) {
+				elements[i] = cur;
+				cur += step;
+			}
+			return new Chunk(elements, 0, CHUNK_SIZE, numbers(cur, step));
+		});
+	}
+
+	public static IntLazySeq iterate(int initial, IntUnaryOperator fun) {
+		return new IntLazySeq(() -> {
+			final int[] elements = new int[CHUNK_SIZE];
+			int cur = initial;
+			elements[0] = cur;
+			for (int i = 1; i < CHUNK_SIZE; ++i) {
+				cur = fun.applyAsInt(cur);
+				elements[i] = cur;
+			}
+			final int last = cur;
+			return new Chunk(elements, 0, CHUNK_SIZE, new IntLazySeq(() -> iterate(fun.applyAsInt(last), fun).chunk()));
+		});
+	}
+
+	public static IntLazySeq tabulate(int start, IntUnaryOperator generator) {
+		return new IntLazySeq(() -> {
+			final int[] elements = new int[CHUNK_SIZE];
+			for (int i = 0; i < CHUNK_SIZE; ++i) {
+				elements[i] = generator.applyAsInt(start + i);
+			}
+			return new Chunk(elements, 0, CHUNK_SIZE, tabulate(start + CHUNK_SIZE, generator));
+		});
+	}
+
+	static <E> IntLazySeq from(LazySeq<E> seq, ToIntFunction<? super E> mapper) {
+		return new IntLazySeq(() -> {
+			final int[] elements = new int[CHUNK_SIZE];
+			int count = 0;
+			LazySeq<E> cur = seq;
+			while (!cur.isEmpty()) {
+				elements[count++] = mapper.applyAsInt(cur.head());
+				if (count == CHUNK_SIZE) {
+					final LazySeq<E> last = cur;
+					return new Chunk(elements, 0, count, new IntLazySeq(() -> from(last.tail(), mapper).chunk()));
+				}
+				cur = cur.tail();
+			}
+			return count == 0 ? EMPTY_CHUNK : new Chunk(elements, 0, count, empty());
+		});
+	}
+
+	private Chunk chunk() {
+		return TailMemo.evaluate(CHUNK, this);
+	}
+
+	private int position(Chunk chunk) {
+		return chunk.start + offset;
+	}
+
+	public boolean isEmpty() {
+		final Chunk chunk = chunk();
+		return position(chunk) >= chunk.end;
+	}
+
+	public int head() {
+		final Chunk chunk = chunk();
+		if (position(chunk) >= chunk.end) {
+			throw new NoSuchElementException("head of empty stream");
+		}
+		return chunk.elements[position(chunk)];
+	}
+
+	public IntLazySeq tail() {
+		final Chunk chunk = chunk();
+		final int position = position(chunk);
+		if (position >= chunk.end) {
+			throw new NoSuchElementException("tail of empty stream");
+		}
+		if (position + 1 < chunk.end) {
+			return new IntLazySeq(chunk, offset + 1);
+		}
+		return chunk.next;
+	}
+
+	public int get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		final IntLazySeq dropped = drop(index);
+		if (dropped.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return dropped.head();
+	}
+
+	public IntLazySeq map(IntUnaryOperator mapper) {
+		return new IntLazySeq(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			if (position >= chunk.end) {
+				return EMPTY_CHUNK;
+			}
+			final int[] mapped = new int[chunk.end - position];
+			for (int i = 0; i < mapped.length; ++i) {
+				mapped[i] = mapper.applyAsInt(chunk.elements[position + i]);
+			}
+			return new Chunk(mapped, 0, mapped.length, chunk.next.map(mapper));
+		});
+	}
+
+	public <R> LazySeq<R> mapToObj(IntFunction<? extends R> mapper) {
+		return new DeferredSeq<>(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			if (position >= chunk.end) {
+				return LazySeq.empty();
+			}
+			final Object[] mapped = new Object[chunk.end - position];
+			for (int i = 0; i < mapped.length; ++i) {
+				mapped[i] = mapper.apply(chunk.elements[position + i]);
+			}
+			return new ChunkedCons<>(mapped, () -> chunk.next.mapToObj(mapper));
+		});
+	}
+
+	public LazySeq<Integer> boxed() {
+		return mapToObj(x -> x);
+	}
+
+	public IntLazySeq filter(IntPredicate predicate) {
+		return new IntLazySeq(() -> {
+			IntLazySeq cur = this;
+			while (true) {
+				final Chunk chunk = cur.chunk();
+				final int position = cur.position(chunk);
+				if (position >= chunk.end) {
+					return EMPTY_CHUNK;
+				}
+				final int[] matching = new int[chunk.end - position];
+				int count = 0;
+				for (int i = position; i < chunk.end; ++i) {
+					if (predicate.test(chunk.elements[i])) {
+						matching[count++] = chunk.elements[i];
+					}
+				}
+				if (count > 0) {
+					return new Chunk(matching, 0, count, chunk.next.filter(predicate));
+				}
+				cur = chunk.next;
+			}
+		});
+	}
+
+	public IntLazySeq take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (maxSize == 0) {
+			return empty();
+		}
+		return new IntLazySeq(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			final int available = chunk.end - position;
+			if (available <= 0) {
+				return EMPTY_CHUNK;
+			}
+			if (maxSize <= available) {
+				return new Chunk(chunk.elements, position, position + (int) maxSize, empty());
+			}
+			return new Chunk(chunk.elements, position, chunk.end, chunk.next.take(maxSize - available));
+		});
+	}
+
+	public IntLazySeq limit(long maxSize) {
+		return take(maxSize);
+	}
+
+	public IntLazySeq drop(long startInclusive) {
+		if (startInclusive < 0) {
+			throw new IllegalArgumentException(Long.toString(startInclusive));
+		}
+		IntLazySeq cur = this;
+		long left = startInclusive;
+		while (left > 0) {
+			final Chunk chunk = cur.chunk();
+			final int available = chunk.end - cur.position(chunk);
+			if (available <= 0) {
+				return empty();
+			}
+			if (left < available) {
+				return new IntLazySeq(chunk, cur.offset + (int) left);
+			}
+			left -= available;
+			cur = chunk.next;
+		}
+		return cur;
+	}
+
+	public void forEach(IntConsumer action) {
+		IntLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				action.accept(chunk.elements[i]);
+			}
+			if (chunk.next == null) {
+				return;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public int reduce(int identity, IntBinaryOperator accumulator) {
+		int result = identity;
+		IntLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				result = accumulator.applyAsInt(result, chunk.elements[i]);
+			}
+			if (chunk.next == null) {
+				return result;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public int sum() {
+		return reduce(0, (a, b) -> a + b);
+	}
+
+	public int size() {
+		int size = 0;
+		IntLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			size += Math.max(0, chunk.end - cur.position(chunk));
+			if (chunk.next == null) {
+				return size;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public int[] toArray() {
+		int[] array = new int[CHUNK_SIZE];
+		int size = 0;
+		IntLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			final int position = cur.position(chunk);
+			final int count = Math.max(0, chunk.end - position);
+			if (size + count > array.length) {
+				array = Arrays.copyOf(array, Math.max(array.length * 2, size + count));
+			}
+			System.arraycopy(chunk.elements, position, array, size, count);
+			size += count;
+			if (chunk.next == null) {
+				return Arrays.copyOf(array, size);
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public IntLazySeq force() {
+		size();
+		return this;
+	}
+
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+
+			private IntLazySeq underlying = IntLazySeq.this;
+
+			@Override
+			public boolean hasNext() {
+				return !underlying.isEmpty();
+			}
+
+			@Override
+			public int nextInt() {
+				final int next = underlying.head();
+				underlying = underlying.tail();
+				return next;
+			}
+		};
+	}
+
+	public IntStream stream() {
+		final Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+		return StreamSupport.intStream(spliterator, false);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder s = new StringBuilder("[");
+		IntLazySeq cur = this;
+		boolean first = true;
+		while (TailMemo.isDefined(cur.chunkOrSupplier)) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				if (!first) {
+					s.append(", ");
+				}
+				s.append(chunk.elements[i]);
+				first = false;
+			}
+			if (chunk.next == null) {
+				return s.append("]").toString();
+			}
+			cur = chunk.next;
+		}
+		return s.append(first ? "?]" : ", ?]").toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof IntLazySeq)) return false;
+
+		final PrimitiveIterator.OfInt left = iterator();
+		final PrimitiveIterator.OfInt right = ((IntLazySeq) o).iterator();
+		while (left.hasNext() && right.hasNext()) {
+			if (Integer.compare(left.nextInt(), right.nextInt()) != 0) {
+				return false;
+			}
+		}
+		return !left.hasNext() && !right.hasNext();
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		int multiplier = 1;
+		final PrimitiveIterator.OfInt iterator = iterator();
+		while (iterator.hasNext()) {
+			hash += Integer.hashCode(iterator.nextInt()) * multiplier;
+			multiplier *= 31;
+		}
+		return hash;
+	}
+
+	/**
+	 * Evaluated block of elements <code>elements[start..end)</code> followed by lazy <code>next</code> sequence.
+	 * <code>next</code> is <code>null</code> only for the terminal empty chunk.
+	 */
+	private static final class Chunk {
+
+		private final int[] elements;
+		private final int start;
+		private final int end;
+		private final IntLazySeq next;
+
+		Chunk(int[] elements, int start, int end, IntLazySeq next) {
+			this.elements = elements;
+			this.start = start;
+			this.end = end;
+			this.next = next;
+		}
+
+	}
+
+}
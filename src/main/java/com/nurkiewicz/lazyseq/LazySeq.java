@@ -1,9 +1,16 @@
 package com.nurkiewicz.lazyseq;
 
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Tomasz Nurkiewicz
@@ -50,10 +57,21 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@SafeVarargs
 	public static <E> LazySeq<E> of(E... elements) {
-		return of(Arrays.asList(elements).iterator());
+		final Object[] copy = new Object[elements.length];
+		for (int i = 0; i < elements.length; ++i) {
+			copy[i] = elements[i];
+		}
+		return ArraySeq.wrap(copy);
 	}
 
+	/**
+	 * When <code>elements</code> is a {@link RandomAccess} {@link List}, it is copied once into an array
+	 * backing the sequence. Other {@link Iterable}s are consumed lazily, like {@link #of(Iterator)}.
+	 */
 	public static <E> LazySeq<E> of(Iterable<E> elements) {
+		if (isMaterialized(elements)) {
+			return ArraySeq.wrap(((Collection<E>) elements).toArray());
+		}
 		return of(elements.iterator());
 	}
 
@@ -65,14 +83,49 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		}
 	}
 
+	/**
+	 * Like {@link #of(Iterator)} but pulls up to <code>chunkSize</code> elements from <code>iterator</code> at once,
+	 * sharing one lazily evaluated tail between them.
+	 */
+	public static <E> LazySeq<E> of(Iterator<E> iterator, int chunkSize) {
+		checkChunkSize(chunkSize);
+		final Object[] elements = new Object[chunkSize];
+		int count = 0;
+		while (count < chunkSize && iterator.hasNext()) {
+			elements[count++] = iterator.next();
+		}
+		if (count == 0) {
+			return empty();
+		}
+		if (count < chunkSize) {
+			return new ChunkedCons<>(Arrays.copyOf(elements, count), LazySeq.<E>empty());
+		}
+		return new ChunkedCons<>(elements, () -> of(iterator, chunkSize));
+	}
+
 	public static <E> LazySeq<E> concat(Iterable<E> elements, Supplier<LazySeq<E>> tailFun) {
+		if (isMaterialized(elements)) {
+			final Object[] array = ((Collection<E>) elements).toArray();
+			return array.length > 0 ? new ChunkedCons<>(array, tailFun) : tailFun.get();
+		}
 		return concat(elements.iterator(), tailFun);
 	}
 
 	public static <E> LazySeq<E> concat(Iterable<E> elements, LazySeq<E> tail) {
+		if (isMaterialized(elements)) {
+			final Object[] array = ((Collection<E>) elements).toArray();
+			if (array.length == 0) {
+				return tail;
+			}
+			return tail instanceof Nil ? ArraySeq.<E>wrap(array) : new ChunkedCons<>(array, tail);
+		}
 		return concat(elements.iterator(), tail);
 	}
 
+	private static boolean isMaterialized(Iterable<?> elements) {
+		return elements instanceof List && elements instanceof RandomAccess;
+	}
+
 	public static <E> LazySeq<E> concat(Iterator<E> iterator, LazySeq<E> tail) {
 		if (iterator.hasNext()) {
 			return concatNonEmptyIterator(iterator, tail);
@@ -90,27 +143,40 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	private static <E> LazySeq<E> concatNonEmptyIterator(Iterator<E> iterator, LazySeq<E> tail) {
-		final E next = iterator.next();
-		if (iterator.hasNext()) {
-			return cons(next, concatNonEmptyIterator(iterator, tail));
-		} else {
-			return cons(next, tail);
-		}
+		final List<E> elements = new ArrayList<>();
+		iterator.forEachRemaining(elements::add);
+		return prepend(elements, elements.size(), tail);
 	}
 
 	private static <E> LazySeq<E> concatNonEmptyIterator(Iterator<E> iterator, Supplier<LazySeq<E>> tailFun) {
-		final E next = iterator.next();
-		if (iterator.hasNext()) {
-			return cons(next, concatNonEmptyIterator(iterator, tailFun));
-		} else {
-			return cons(next, tailFun);
+		final List<E> elements = new ArrayList<>();
+		iterator.forEachRemaining(elements::add);
+		final int last = elements.size() - 1;
+		return prepend(elements, last, cons(elements.get(last), tailFun));
+	}
+
+	/**
+	 * Builds fixed cells for first <code>count</code> elements in front of <code>tail</code>, starting from the last one.
+	 */
+	private static <E> LazySeq<E> prepend(List<E> elements, int count, LazySeq<E> tail) {
+		LazySeq<E> result = tail;
+		for (int i = count - 1; i >= 0; --i) {
+			result = cons(elements.get(i), result);
 		}
+		return result;
 	}
 
 	public static <E> LazySeq<E> cons(E head, Supplier<LazySeq<E>> tailFun) {
 		return new Cons<>(head, tailFun);
 	}
 
+	/**
+	 * With {@link Memoization#SOFT}, <code>tailFun</code> must be pure, it may be called again if evaluated tail gets evicted.
+	 */
+	public static <E> LazySeq<E> cons(E head, Supplier<LazySeq<E>> tailFun, Memoization memoization) {
+		return memoization == Memoization.SOFT ? new SoftCons<>(head, tailFun) : cons(head, tailFun);
+	}
+
 	public static <E> LazySeq<E> cons(E head, LazySeq<E> tail) {
 		return new FixedCons<>(head, tail);
 	}
@@ -119,18 +185,172 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return new Cons<>(initial, () -> iterate(fun.apply(initial), fun));
 	}
 
+	/**
+	 * With {@link Memoization#SOFT}, <code>fun</code> must be pure, evicted elements are recomputed from the nearest retained one.
+	 */
+	public static <E> LazySeq<E> iterate(E initial, Function<E, E> fun, Memoization memoization) {
+		return cons(initial, () -> iterate(fun.apply(initial), fun, memoization), memoization);
+	}
+
+	/**
+	 * Infinite sequence of <code>initial</code>, <code>fun(initial)</code>, <code>fun(fun(initial))</code>...
+	 * Elements are evaluated in blocks of <code>chunkSize</code>, thus <code>fun</code> should be cheap and side-effect free.
+	 */
+	public static <E> LazySeq<E> iterate(E initial, Function<E, E> fun, int chunkSize) {
+		checkChunkSize(chunkSize);
+		final Object[] elements = new Object[chunkSize];
+		E cur = initial;
+		elements[0] = cur;
+		for (int i = 1; i < chunkSize; ++i) {
+			cur = fun.apply(cur);
+			elements[i] = cur;
+		}
+		final E last = cur;
+		return new ChunkedCons<>(elements, () -> iterate(fun.apply(last), fun, chunkSize));
+	}
+
 	public static <E> Collector<E, LazySeq<E>, LazySeq<E>> toLazySeq() {
 		return DummyLazySeqCollector.getInstance();
 	}
 
+	/**
+	 * Infinite sequence of <code>generator(start)</code>, <code>generator(start + 1)</code>...
+	 * Random access: {@link #get(int)} and {@link #drop(long)} call <code>generator</code> only for requested
+	 * positions, each at most once. {@link #force()} of {@link #take(long)} evaluates elements in order, on the calling thread,
+	 * use {@link #parallelForce(ForkJoinPool)} to evaluate them in parallel instead.
+	 * Evaluated elements are retained only as long as some sequence starting before them is reachable.
+	 */
 	public static <E> LazySeq<E> tabulate(int start, Function<Integer, E> generator) {
-		return cons(generator.apply(start), () -> tabulate(start + 1, generator));
+		return tabulate(start, generator, Memoization.STRONG);
+	}
+
+	/**
+	 * Like {@link #tabulate(int, Function)}, with {@link Memoization#SOFT} <code>generator</code> must be pure.
+	 */
+	public static <E> LazySeq<E> tabulate(int start, Function<Integer, E> generator, Memoization memoization) {
+		return RangeSeq.over(new Tabulation<>(start, generator, memoization));
+	}
+
+	/**
+	 * Infinite sequence of <code>generator(start)</code>, <code>generator(start + 1)</code>...
+	 * Elements are evaluated in blocks of <code>chunkSize</code>.
+	 */
+	public static <E> LazySeq<E> tabulate(int start, Function<Integer, E> generator, int chunkSize) {
+		checkChunkSize(chunkSize);
+		final Object[] elements = new Object[chunkSize];
+		for (int i = 0; i < chunkSize; ++i) {
+			elements[i] = generator.apply(start + i);
+		}
+		return new ChunkedCons<>(elements, () -> tabulate(start + chunkSize, generator, chunkSize));
+	}
+
+	private static void checkChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(chunkSize));
+		}
 	}
 
 	public static <E> LazySeq<E> continually(Supplier<E> generator) {
 		return cons(generator.get(), () -> continually(generator));
 	}
 
+	/**
+	 * Like {@link #continually(Supplier)}, but retaining at most <code>window</code> most recently evaluated elements.
+	 * Memory stays flat no matter how far the sequence is traversed, even if its beginning is still referenced.
+	 * Accessing elements that fell out of the window throws {@link IllegalStateException}.
+	 */
+	public static <E> LazySeq<E> continually(Supplier<E> generator, int window) {
+		if (window <= 0) {
+			throw new IllegalArgumentException(Integer.toString(window));
+		}
+		return WindowedCons.generate(generator, window);
+	}
+
+	/**
+	 * Records fetched page by page with <code>loader</code>, starting at offset <code>0</code>, until it returns
+	 * fewer records than requested. Nothing is loaded until the sequence is first accessed, afterwards up to
+	 * <code>parallelism</code> subsequent pages are fetched concurrently on <code>executor</code>.
+	 * Page size starts at <code>pageSize</code> and grows (up to 16 times) as long as the consumer has to wait for pages,
+	 * shrinking back when pages are consumed much slower than they are loaded.
+	 * Loader failure is thrown to the consumer reaching the failed page, next access retries it.
+	 */
+	public static <E> LazySeq<E> paged(PageLoader<E> loader, int pageSize, int parallelism, Executor executor) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize: " + pageSize);
+		}
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism: " + parallelism);
+		}
+		return new PagedSource<>(loader, pageSize, parallelism, executor).seq();
+	}
+
+	/**
+	 * Memoized sequence of items signalled by <code>publisher</code>, subscribed to when the sequence is first accessed.
+	 * Items are requested in batches so that at most <code>prefetch</code> of them are buffered ahead of the consumer.
+	 * Evaluating a tail blocks until the next item (or completion) is signalled, failure signalled by the publisher
+	 * is thrown to the consumer reaching it.
+	 */
+	public static <E> LazySeq<E> fromPublisher(Flow.Publisher<? extends E> publisher, int prefetch) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException(Integer.toString(prefetch));
+		}
+		return new PublisherSeq<E>(publisher, prefetch).seq();
+	}
+
+	/**
+	 * Memoized sequence of elements passed to {@link Yielder#yield(Object)} by <code>producer</code>, which may be
+	 * written as a plain loop instead of recursive tail suppliers. The producer runs on dedicated daemon thread started
+	 * when the sequence is first accessed and is suspended on each yield until the next element is asked for.
+	 * Returning from the producer ends the sequence, exception thrown by it (including {@link NullPointerException}
+	 * when yielding <code>null</code>) is thrown to the consumer reaching it.
+	 * Every element is handed over between two threads, making it noticeably more expensive than
+	 * {@link #iterate(Object, Function)} or {@link #cons(Object, Supplier)} per element.
+	 * <p/>
+	 * Each sequence takes one platform thread and a sequence abandoned before its end holds that thread
+	 * until it is garbage collected. On JDK 21+ prefer {@link #generate(Consumer, Executor)} with
+	 * <code>Executors.newVirtualThreadPerTaskExecutor()</code>, where suspended producers cost no platform thread.
+	 */
+	public static <E> LazySeq<E> generate(Consumer<Yielder<E>> producer) {
+		return generate(producer, Generator.DAEMON_THREADS);
+	}
+
+	/**
+	 * Like {@link #generate(Consumer)}, but runs the producer on <code>executor</code>, which must not run it
+	 * in the calling thread. Producer of a sequence abandoned before its end occupies the thread until
+	 * the sequence is garbage collected.
+	 */
+	public static <E> LazySeq<E> generate(Consumer<Yielder<E>> producer, Executor executor) {
+		return new Generator<>(producer, executor).seq();
+	}
+
+	/**
+	 * Elements taken from <code>queue</code> filled by another thread, e.g. bounded {@link java.util.concurrent.ArrayBlockingQueue}
+	 * acting as ring buffer. Unlike <code>continually(queue::take)</code>, evaluating a tail takes all elements already
+	 * queued (up to <code>maxBatch</code>) into one array-backed block of cells. The sequence ends when
+	 * <code>poisonPill</code> is taken or when no element arrives within <code>timeout</code>, in which case elements
+	 * queued later are left for another consumer. Producer must not queue anything after <code>poisonPill</code>.
+	 */
+	public static <E> LazySeq<E> drain(BlockingQueue<? extends E> queue, E poisonPill, int maxBatch, long timeout, TimeUnit unit) {
+		return drainUntil(queue, Objects.requireNonNull(poisonPill), maxBatch, timeout, unit);
+	}
+
+	/**
+	 * Like {@link #drain(BlockingQueue, Object, int, long, TimeUnit)}, ending only when no element arrives within <code>timeout</code>.
+	 */
+	public static <E> LazySeq<E> drain(BlockingQueue<? extends E> queue, int maxBatch, long timeout, TimeUnit unit) {
+		return drainUntil(queue, null, maxBatch, timeout, unit);
+	}
+
+	private static <E> LazySeq<E> drainUntil(BlockingQueue<? extends E> queue, E poisonPill, int maxBatch, long timeout, TimeUnit unit) {
+		if (maxBatch <= 0) {
+			throw new IllegalArgumentException("maxBatch: " + maxBatch);
+		}
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout: " + timeout);
+		}
+		return new QueueSource<E>(queue, poisonPill, maxBatch, timeout, unit).seq();
+	}
+
 	public static <E> LazySeq<E> continually(Iterable<E> cycle) {
 		if (!cycle.iterator().hasNext()) {
 			return empty();
@@ -151,15 +371,33 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public static LazySeq<Integer> numbers(int start, int step) {
-		return cons(start, () -> numbers(start + step, step));
+		return RangeSeq.ints(start, step);
 	}
 
 	public static LazySeq<Double> numbers(double start) {
 		return numbers(start, 1.0);
 	}
 
+	/**
+	 * Infinite sequence of <code>start</code>, <code>start + step</code>, <code>start + 2 * step</code>...
+	 * Each element is computed as <code>start + n * step</code> rather than by adding <code>step</code> to the previous one,
+	 * so rounding errors don't accumulate, e.g. <code>numbers(0.0, 0.1).get(10)</code> is <code>1.0</code>,
+	 * not <code>0.9999999999999999</code>.
+	 */
 	public static LazySeq<Double> numbers(double start, double step) {
-		return cons(start, () -> numbers(start + step, step));
+		return RangeSeq.doubles(start, step);
+	}
+
+	/**
+	 * Finite sequence of <code>from</code>, <code>from + step</code>, <code>from + 2 * step</code>...
+	 * up to but excluding <code>to</code>. <code>step</code> can be negative, but not zero.
+	 * Never evaluated cell by cell, thus random access, size and {@link #contains(Object)} are <i>O(1)</i>.
+	 *
+	 * @throws IllegalArgumentException if <code>step</code> is zero or range has more than {@link Long#MAX_VALUE} elements,
+	 * e.g. <code>range(Long.MIN_VALUE, Long.MAX_VALUE, 1)</code>
+	 */
+	public static LazySeq<Long> range(long from, long to, long step) {
+		return RangeSeq.longs(from, to, step);
 	}
 
 	protected abstract boolean isTailDefined();
@@ -186,9 +424,15 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return new LazySeqStream<>(this);
 	}
 
+	/**
+	 * Parallel {@link Stream} backed by {@link #spliterator()}, splitting off batches of consecutive elements.
+	 * Runs on {@link java.util.concurrent.ForkJoinPool#commonPool()} or on whichever pool
+	 * the terminal operation is invoked from, e.g. within <code>pool.submit(() -> seq.parallelStream()...)</code>.
+	 * Encounter order is preserved for {@link Stream#forEachOrdered(Consumer)} and {@link Stream#collect(Collector)}.
+	 */
 	@Override
 	public Stream<E> parallelStream() {
-		return stream();
+		return StreamSupport.stream(spliterator(), true);
 	}
 
 	@Override
@@ -201,7 +445,16 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	 * using the separator <code>sep</code>.
 	 */
 	public String mkString(String sep) {
-		return mkString("", sep, "");
+		final StringBuilder s = new StringBuilder();
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			s.append(cur.head());
+			cur = cur.tail();
+			if (!cur.isEmpty()) {
+				s.append(sep);
+			}
+		}
+		return s.toString();
 	}
 
 	/**
@@ -210,7 +463,16 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	 * whereas <code>sep</code> is as separator string between the elements of this sequence.
 	 */
 	public String mkString(String start, String sep, String end) {
-		return mkString(start, sep, end, false);
+		final StringBuilder s = new StringBuilder(start);
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			s.append(cur.head());
+			cur = cur.tail();
+			if (!cur.isEmpty()) {
+				s.append(sep);
+			}
+		}
+		return s.append(end).toString();
 	}
 
 	/**
@@ -239,6 +501,27 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	public abstract LazySeq<E> filter(Predicate<? super E> predicate);
 
+	/**
+	 * Lazily converts this sequence to sequence of primitive <code>int</code>s, evaluated in chunks.
+	 */
+	public IntLazySeq mapToInt(ToIntFunction<? super E> mapper) {
+		return IntLazySeq.from(this, mapper);
+	}
+
+	/**
+	 * Lazily converts this sequence to sequence of primitive <code>long</code>s, evaluated in chunks.
+	 */
+	public LongLazySeq mapToLong(ToLongFunction<? super E> mapper) {
+		return LongLazySeq.from(this, mapper);
+	}
+
+	/**
+	 * Lazily converts this sequence to sequence of primitive <code>double</code>s, evaluated in chunks.
+	 */
+	public DoubleLazySeq mapToDouble(ToDoubleFunction<? super E> mapper) {
+		return DoubleLazySeq.from(this, mapper);
+	}
+
 	public abstract <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper);
 
 	public LazySeq<E> limit(long maxSize) {
@@ -276,11 +559,11 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	protected LazySeq<E> dropUnsafe(long startInclusive) {
-		if (startInclusive > 0) {
-			return tail().drop(startInclusive - 1);
-		} else {
-			return this;
+		LazySeq<E> cur = this;
+		for (long left = startInclusive; left > 0 && !cur.isEmpty(); --left) {
+			cur = cur.tail();
 		}
+		return cur;
 	}
 
 	@Override
@@ -295,16 +578,146 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return dropUnsafe(startInclusive).takeUnsafe(endExclusive - startInclusive);
 	}
 
+	/**
+	 * Same sequence, but remembering every <code>interval</code>-th cell as it gets evaluated.
+	 * Subsequent {@link #get(int)}, {@link #drop(long)} and {@link #slice(long, long)} on returned sequence
+	 * (and its tails) walk at most <code>interval</code> cells from the nearest remembered one
+	 * instead of starting from the beginning. Safe to use from multiple threads.
+	 */
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return new SkipIndexedSeq<>(this, interval);
+	}
+
+	/**
+	 * Same sequence, but up to <code>depth</code> tails ahead of the furthest element reached so far are evaluated
+	 * in the background on <code>executor</code>, so that producing subsequent elements overlaps with consuming
+	 * current ones. Every tail is still evaluated exactly once: consumer reaching a tail being prefetched waits for it.
+	 * Exceptions thrown by tail suppliers in the background are not reported there,
+	 * the consumer encounters them when it reaches the failing element, as if there was no prefetching.
+	 */
+	public LazySeq<E> prefetch(int depth, Executor executor) {
+		if (depth <= 0) {
+			throw new IllegalArgumentException(Integer.toString(depth));
+		}
+		return PrefetchedSeq.start(this, depth, executor);
+	}
+
+	/**
+	 * Like {@link #map(Function)}, but invoking <code>mapper</code> on <code>executor</code> (e.g. {@link java.util.concurrent.ForkJoinPool})
+	 * for up to <code>parallelism</code> subsequent elements ahead of the consumer. Results are delivered in source order
+	 * and memoized as usual. Nothing is computed until the returned sequence is first accessed, afterwards at most
+	 * <code>parallelism</code> results are pending at any time, so this works on infinite sequences as well.
+	 * Mapper failure is thrown to the consumer reaching the failed element, next access retries it.
+	 */
+	public <R> LazySeq<R> parMap(Function<? super E, ? extends R> mapper, int parallelism, Executor executor) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException(Integer.toString(parallelism));
+		}
+		Objects.requireNonNull(mapper);
+		Objects.requireNonNull(executor);
+		return new ParallelMapping<E, R>(this, element -> CompletableFuture.supplyAsync(() -> mapper.apply(element), executor), parallelism, true).seq();
+	}
+
+	/**
+	 * Like {@link #parMap(Function, int, Executor)}, but with <code>mapper</code> that is asynchronous itself,
+	 * e.g. non-blocking remote call. Results are delivered in source order, with at most <code>maxInFlight</code>
+	 * uncompleted futures at any time. Taking first <code>n</code> elements of returned sequence
+	 * (before it is accessed otherwise) never calls <code>mapper</code> for more than <code>n</code> elements.
+	 */
+	public <R> LazySeq<R> mapAsync(Function<? super E, ? extends CompletionStage<? extends R>> mapper, int maxInFlight) {
+		return mapAsync(mapper, maxInFlight, true);
+	}
+
+	/**
+	 * Like {@link #mapAsync(Function, int)}, but results are delivered in completion order rather than source order,
+	 * so a single slow invocation does not hold back the ones that already completed.
+	 */
+	public <R> LazySeq<R> mapAsyncUnordered(Function<? super E, ? extends CompletionStage<? extends R>> mapper, int maxInFlight) {
+		return mapAsync(mapper, maxInFlight, false);
+	}
+
+	private <R> LazySeq<R> mapAsync(Function<? super E, ? extends CompletionStage<? extends R>> mapper, int maxInFlight, boolean ordered) {
+		if (maxInFlight <= 0) {
+			throw new IllegalArgumentException(Integer.toString(maxInFlight));
+		}
+		return new ParallelMapping<E, R>(this, Objects.requireNonNull(mapper), maxInFlight, ordered).seq();
+	}
+
+	/**
+	 * {@link Flow.Publisher} of elements of this sequence. Each subscriber traverses it from the beginning,
+	 * tails are evaluated and elements signalled on <code>executor</code> only as far as
+	 * {@link Flow.Subscription#request(long)} demands. Exception thrown while evaluating the sequence is signalled
+	 * through {@link Flow.Subscriber#onError(Throwable)}.
+	 */
+	public Flow.Publisher<E> toPublisher(Executor executor) {
+		return new SeqPublisher<>(this, executor);
+	}
+
+	/**
+	 * Like all terminal operations, walks the sequence with a local cursor and never refers to <code>this</code>
+	 * afterwards. However, interpreted stack frame keeps <code>this</code> reachable until the method returns,
+	 * so visited cells are released only once the JIT compiles the loop. Use {@link #forEach(LazySeq, Consumer)},
+	 * {@link #reduce(LazySeq, Object, BiFunction)}, {@link #size(LazySeq)} or {@link #iterator()} to traverse
+	 * sequences longer than available memory regardless of compilation.
+	 */
 	public void forEach(Consumer<? super E> action) {
-		action.accept(head());
-		tail().forEach(action);
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+		}
+	}
+
+	/**
+	 * Same as {@link #forEach(Consumer)}, but <code>seq</code> parameter itself serves as the cursor.
+	 * Visited cells become unreachable as the traversal goes, even in interpreted code,
+	 * as long as the caller does not hold the head, e.g. <code>LazySeq.forEach(readLines(), action)</code>.
+	 */
+	public static <E> void forEach(LazySeq<E> seq, Consumer<? super E> action) {
+		while (!seq.isEmpty()) {
+			action.accept(seq.head());
+			seq = seq.tail();
+		}
+	}
+
+	/**
+	 * Like {@link #forEach(LazySeq, Consumer)}, not retaining visited cells of <code>seq</code>.
+	 */
+	public static <E, U> U reduce(LazySeq<E> seq, U identity, BiFunction<U, ? super E, U> accumulator) {
+		U result = identity;
+		while (!seq.isEmpty()) {
+			result = accumulator.apply(result, seq.head());
+			seq = seq.tail();
+		}
+		return result;
+	}
+
+	/**
+	 * Like {@link #forEach(LazySeq, Consumer)}, not retaining visited cells of <code>seq</code>.
+	 */
+	public static int size(LazySeq<?> seq) {
+		int size = 0;
+		while (!seq.isEmpty()) {
+			++size;
+			seq = seq.tail();
+		}
+		return size;
 	}
 
 	public Optional<E> reduce(BinaryOperator<E> accumulator) {
 		if (isEmpty() || tail().isEmpty()) {
 			return Optional.empty();
 		}
-		return Optional.of(tail().reduce(head(), accumulator));
+		E result = head();
+		LazySeq<E> cur = tail();
+		while (!cur.isEmpty()) {
+			result = accumulator.apply(result, cur.head());
+			cur = cur.tail();
+		}
+		return Optional.of(result);
 	}
 
 	public <U> U reduce(U identity, BiFunction<U, ? super E, U> accumulator) {
@@ -322,7 +735,16 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public Optional<E> max(Comparator<? super E> comparator) {
-		return greatestByComparator(comparator);
+		if (isEmpty()) {
+			return Optional.empty();
+		}
+		E maxSoFar = head();
+		LazySeq<E> cur = tail();
+		while (!cur.isEmpty()) {
+			maxSoFar = maxByComparator(maxSoFar, cur.head(), comparator);
+			cur = cur.tail();
+		}
+		return Optional.of(maxSoFar);
 	}
 
 	public <C extends Comparable<? super C>> Optional<E> minBy(Function<E, C> propertyFun) {
@@ -330,7 +752,17 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public Optional<E> min(Comparator<? super E> comparator) {
-		return greatestByComparator(comparator.reversed());
+		if (isEmpty()) {
+			return Optional.empty();
+		}
+		final Comparator<? super E> reversed = comparator.reversed();
+		E minSoFar = head();
+		LazySeq<E> cur = tail();
+		while (!cur.isEmpty()) {
+			minSoFar = maxByComparator(minSoFar, cur.head(), reversed);
+			cur = cur.tail();
+		}
+		return Optional.of(minSoFar);
 	}
 
 	private <C extends Comparable<? super C>> Comparator<? super E> propertyFunToComparator(Function<E, C> propertyFun) {
@@ -341,26 +773,19 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		};
 	}
 
-	private Optional<E> greatestByComparator(Comparator<? super E> comparator) {
-		if (tail().isEmpty()) {
-			return Optional.of(head());
-		}
-		E minSoFar = head();
-		LazySeq<E> cur = this.tail();
-		while (!cur.isEmpty()) {
-			minSoFar = maxByComparator(minSoFar, cur.head(), comparator);
-			cur = cur.tail();
-		}
-		return Optional.of(minSoFar);
-	}
-
 	private static <E> E maxByComparator(E first, E second, Comparator<? super E> comparator) {
 		return comparator.compare(first, second) >= 0 ? first : second;
 	}
 
 	@Override
 	public int size() {
-		return 1 + tail().size();
+		int size = 0;
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			++size;
+			cur = cur.tail();
+		}
+		return size;
 	}
 
 	@Override
@@ -368,16 +793,67 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return new LazySeqIterator<>(this);
 	}
 
+	@Override
+	public Spliterator<E> spliterator() {
+		return new LazySeqSpliterator<>(this);
+	}
+
+	/**
+	 * Number of elements if this sequence is finite and already fully evaluated, <code>-1</code> otherwise.
+	 * Never triggers evaluation.
+	 */
+	long knownSize() {
+		long size = 0;
+		LazySeq<E> cur = this;
+		while (true) {
+			if (cur instanceof DeferredSeq) {
+				cur = ((DeferredSeq<E>) cur).evaluatedOrNull();
+				if (cur == null) {
+					return -1;
+				}
+			}
+			if (cur.isEmpty()) {
+				return size;
+			}
+			if (!cur.isTailDefined()) {
+				return -1;
+			}
+			++size;
+			cur = cur.tail();
+		}
+	}
+
 	public boolean anyMatch(Predicate<? super E> predicate) {
-		return predicate.test(head()) || tail().anyMatch(predicate);
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				return true;
+			}
+			cur = cur.tail();
+		}
+		return false;
 	}
 
 	public boolean allMatch(Predicate<? super E> predicate) {
-		return predicate.test(head()) && tail().allMatch(predicate);
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			if (!predicate.test(cur.head())) {
+				return false;
+			}
+			cur = cur.tail();
+		}
+		return true;
 	}
 
 	public boolean noneMatch(Predicate<? super E> predicate) {
-		return allMatch(predicate.negate());
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				return false;
+			}
+			cur = cur.tail();
+		}
+		return true;
 	}
 
 	public <S, R> LazySeq<R> zip(LazySeq<? extends S> second, BiFunction<? super E, ? super S, ? extends R> zipper) {
@@ -398,11 +874,13 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public LazySeq<E> dropWhile(Predicate<? super E> predicate) {
-		if (predicate.test(head())) {
-			return tail().dropWhile(predicate);
-		} else {
-			return this;
-		}
+		return new DeferredSeq<>(() -> {
+			if (predicate.test(head())) {
+				return tail().dropWhile(predicate);
+			} else {
+				return this;
+			}
+		});
 	}
 
 	public LazySeq<List<E>> sliding(int size) {
@@ -448,12 +926,14 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	private LazySeq<E> filterOutSeen(Set<E> exclude) {
 		final LazySeq<E> moreDistinct = filter(e -> !exclude.contains(e));
-		if (moreDistinct.isEmpty()) {
-			return empty();
-		}
-		final E next = moreDistinct.head();
-		exclude.add(next);
-		return cons(next, () -> moreDistinct.tail().filterOutSeen(exclude));
+		return new DeferredSeq<>(() -> {
+			if (moreDistinct.isEmpty()) {
+				return empty();
+			}
+			final E next = moreDistinct.head();
+			exclude.add(next);
+			return cons(next, () -> moreDistinct.tail().filterOutSeen(exclude));
+		});
 	}
 
 	@SuppressWarnings("unchecked")
@@ -472,29 +952,68 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public boolean startsWith(Iterator<E> iterator) {
-		return !iterator.hasNext() ||
-				head().equals(iterator.next()) && tail().startsWith(iterator);
+		LazySeq<E> cur = this;
+		while (iterator.hasNext()) {
+			if (cur.isEmpty() || !cur.head().equals(iterator.next())) {
+				return false;
+			}
+			cur = cur.tail();
+		}
+		return true;
 	}
 
 	public LazySeq<E> force() {
-		tail().force();
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			cur = cur.tail();
+		}
 		return this;
 	}
 
+	/**
+	 * Like {@link #force()}, but elements of bounded {@link #tabulate(int, Function)} sequence are evaluated
+	 * in parallel on <code>pool</code>, in no particular order, thus generator must be thread-safe.
+	 * Other sequences are forced sequentially.
+	 */
+	public LazySeq<E> parallelForce(ForkJoinPool pool) {
+		Objects.requireNonNull(pool);
+		return force();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (!(o instanceof LazySeq)) return false;
 
-		LazySeq right = (LazySeq) o;
-		return !right.isEmpty() &&
-				head().equals(right.head()) &&
-				tail().equals(right.tail());
+		LazySeq<?> left = this;
+		LazySeq<?> right = (LazySeq<?>) o;
+		while (left != right) {
+			if (left.isEmpty() || right.isEmpty()) {
+				return left.isEmpty() && right.isEmpty();
+			}
+			if (!left.head().equals(right.head())) {
+				return false;
+			}
+			left = left.tail();
+			right = right.tail();
+		}
+		return true;
 	}
 
+	/**
+	 * Sum of <code>31<sup>i</sup> * get(i).hashCode()</code> over all elements.
+	 */
 	@Override
 	public int hashCode() {
-		return head().hashCode() + tail().hashCode() * 31;
+		int hash = 0;
+		int multiplier = 1;
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			hash += cur.head().hashCode() * multiplier;
+			multiplier *= 31;
+			cur = cur.tail();
+		}
+		return hash;
 	}
 
 }
@@ -34,6 +34,8 @@ public class LazySeqIterator<E> implements Iterator<E> {
 
 	@Override
 	public void forEachRemaining(Consumer<? super E> action) {
-		underlying.forEach(action);
+		while (hasNext()) {
+			action.accept(next());
+		}
 	}
 }
@@ -0,0 +1,86 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} walking {@link LazySeq} cell by cell. Splitting hands off growing batches of elements
+ * copied into an array, similar to what {@link Spliterators#spliteratorUnknownSize(java.util.Iterator, int)} does.
+ * Reports {@link #SIZED} only when underlying sequence is finite and already fully evaluated.
+ */
+class LazySeqSpliterator<E> implements Spliterator<E> {
+
+	static final int BATCH_UNIT = 1 << 10;
+	static final int MAX_BATCH = 1 << 25;
+
+	private LazySeq<E> underlying;
+	private long size;
+	private int batch;
+
+	LazySeqSpliterator(LazySeq<E> underlying) {
+		this.underlying = underlying;
+		this.size = underlying.knownSize();
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		if (underlying.isEmpty()) {
+			return false;
+		}
+		final E head = underlying.head();
+		underlying = underlying.tail();
+		if (size > 0) {
+			--size;
+		}
+		action.accept(head);
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		LazySeq<E> cur = underlying;
+		underlying = LazySeq.empty();
+		size = 0;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+		}
+	}
+
+	@Override
+	public Spliterator<E> trySplit() {
+		if (underlying.isEmpty() || size == 1) {
+			return null;
+		}
+		int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+		if (size > 0 && n > size - 1) {
+			n = (int) (size - 1);
+		}
+		final Object[] elements = new Object[n];
+		int count = 0;
+		LazySeq<E> cur = underlying;
+		while (count < n && !cur.isEmpty()) {
+			elements[count++] = cur.head();
+			cur = cur.tail();
+		}
+		underlying = cur;
+		batch = count;
+		if (size > 0) {
+			size -= count;
+		}
+		return Spliterators.spliterator(elements, 0, count, characteristics());
+	}
+
+	@Override
+	public long estimateSize() {
+		return size >= 0 ? size : Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		final int sized = size >= 0 ? SIZED | SUBSIZED : 0;
+		return ORDERED | NONNULL | IMMUTABLE | sized;
+	}
+
+}
@@ -13,65 +13,106 @@ import java.util.stream.*;
  */
 class LazySeqStream<E> implements Stream<E> {
 
-	private final LazySeq<E> underlying;
+	private LazySeq<E> underlying;
+
+	/**
+	 * Stateless operations applied by this stream but not materialized yet, set instead of <code>underlying</code>.
+	 * Nobody else can observe their output, so subsequent <code>map</code>/<code>filter</code> are composed into
+	 * the same {@link Pipeline} rather than stacking memoized sequence per stage.
+	 */
+	private Pipeline<?, E> pending;
 
 	LazySeqStream(LazySeq<E> underlying) {
 		this.underlying = underlying;
 	}
 
+	private LazySeqStream(Pipeline<?, E> pending) {
+		this.pending = pending;
+	}
+
+	/**
+	 * Hands the sequence over to terminal operation and forgets it, so that this stream does not retain
+	 * the head while the (possibly longer than available memory) sequence is being traversed.
+	 */
+	private LazySeq<E> consume() {
+		if (pending != null) {
+			final LazySeq<E> seq = pending.seq();
+			pending = null;
+			return seq;
+		}
+		final LazySeq<E> seq = underlying;
+		if (seq == null) {
+			throw new IllegalStateException("stream has already been operated upon or closed");
+		}
+		underlying = null;
+		return seq;
+	}
+
 	@Override
 	public Stream<E> filter(Predicate<? super E> predicate) {
-		return underlying.filter(predicate).stream();
+		final Pipeline<?, E> fused = pending;
+		if (fused != null) {
+			pending = null;
+			return new LazySeqStream<>(fused.filter(predicate));
+		}
+		return new LazySeqStream<>(Pipeline.filter(consume(), predicate));
 	}
 
 	@Override
 	public <R> Stream<R> map(Function<? super E, ? extends R> mapper) {
-		return underlying.map(mapper).stream();
+		final Pipeline<?, E> fused = pending;
+		if (fused != null) {
+			pending = null;
+			return new LazySeqStream<R>(fused.map(mapper));
+		}
+		return new LazySeqStream<R>(Pipeline.map(consume(), mapper));
 	}
 
 	@Override
 	public <R> Stream<R> flatMap(Function<? super E, ? extends Stream<? extends R>> mapper) {
-		return underlying.
+		return consume().
 				flatMap(e -> mapper.apply(e).collect(Collectors.<R>toList())).
 				stream();
 	}
 
 	@Override
 	public Stream<E> limit(long maxSize) {
-		return underlying.limit(maxSize).stream();
+		return consume().limit(maxSize).stream();
 	}
 
 	@Override
 	public Stream<E> skip(long n) {
-		return underlying.drop(n).stream();
+		return consume().drop(n).stream();
 	}
 
 	@Override
 	public void forEach(Consumer<? super E> action) {
-		underlying.forEach(action);
+		LazySeq.forEach(consume(), action);
 	}
 
 	@Override
 	public void forEachOrdered(Consumer<? super E> action) {
-		underlying.forEach(action);
+		LazySeq.forEach(consume(), action);
 	}
 
 	@Override
 	public Object[] toArray() {
-		final Object[] array = new Object[underlying.size()];
-		copyToArray(array);
+		final LazySeq<E> seq = consume();
+		final Object[] array = new Object[seq.size()];
+		copyToArray(seq, array);
 		return array;
 	}
 
 	@Override
 	public <A> A[] toArray(IntFunction<A[]> generator) {
-		final A[] array = generator.apply(underlying.size());
-		copyToArray(array);
+		final LazySeq<E> seq = consume();
+		final A[] array = generator.apply(seq.size());
+		copyToArray(seq, array);
 		return array;
 	}
 
-	private void copyToArray(Object[] array) {
-		LazySeq<E> cur = underlying;
+	private static <E> void copyToArray(LazySeq<E> seq, Object[] array) {
+		LazySeq<E> cur = seq;
 		for (int i = 0; i < array.length; ++i) {
 			array[i] = cur.head();
 			cur = cur.tail();
@@ -80,67 +121,67 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public E reduce(E identity, BinaryOperator<E> accumulator) {
-		return underlying.reduce(identity, accumulator);
+		return LazySeq.reduce(consume(), identity, accumulator);
 	}
 
 	@Override
 	public Optional<E> reduce(BinaryOperator<E> accumulator) {
-		return underlying.reduce(accumulator);
+		return consume().reduce(accumulator);
 	}
 
 	@Override
 	public <U> U reduce(U identity, BiFunction<U, ? super E, U> accumulator, BinaryOperator<U> combiner) {
-		return underlying.reduce(identity, accumulator);
+		return LazySeq.reduce(consume(), identity, accumulator);
 	}
 
 	@Override
 	public Optional<E> min(Comparator<? super E> comparator) {
-		return underlying.min(comparator);
+		return consume().min(comparator);
 	}
 
 	@Override
 	public Optional<E> max(Comparator<? super E> comparator) {
-		return underlying.max(comparator);
+		return consume().max(comparator);
 	}
 
 	@Override
 	public long count() {
-		return underlying.size();
+		return LazySeq.size(consume());
 	}
 
 	@Override
 	public boolean anyMatch(Predicate<? super E> predicate) {
-		return underlying.anyMatch(predicate);
+		return consume().anyMatch(predicate);
 	}
 
 	@Override
 	public boolean allMatch(Predicate<? super E> predicate) {
-		return underlying.allMatch(predicate);
+		return consume().allMatch(predicate);
 	}
 
 	@Override
 	public boolean noneMatch(Predicate<? super E> predicate) {
-		return underlying.noneMatch(predicate);
+		return consume().noneMatch(predicate);
 	}
 
 	@Override
 	public Optional<E> findFirst() {
-		return underlying.headOption();
+		return consume().headOption();
 	}
 
 	@Override
 	public Optional<E> findAny() {
-		return underlying.headOption();
+		return consume().headOption();
 	}
 
 	@Override
 	public Iterator<E> iterator() {
-		return underlying.iterator();
+		return consume().iterator();
 	}
 
 	@Override
 	public Spliterator<E> spliterator() {
-		throw new UnsupportedOperationException("Not implemented");
+		return consume().spliterator();
 	}
 
 	@Override
@@ -155,7 +196,7 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public Stream<E> parallel() {
-		return this;
+		return consume().parallelStream();
 	}
 
 	@Override
@@ -163,64 +204,73 @@ class LazySeqStream<E> implements Stream<E> {
 		return this;
 	}
 
+	/**
+	 * Primitive streams are backed by JDK pipeline over {@link LazySeq#spliterator()},
+	 * pulling one element at a time and passing it to <code>mapper</code> without boxing the result.
+	 */
+	private Stream<E> spliteratorStream() {
+		return StreamSupport.stream(consume().spliterator(), false);
+	}
+
 	@Override
 	public IntStream mapToInt(ToIntFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToInt");
+		return spliteratorStream().mapToInt(mapper);
 	}
 
 	@Override
 	public LongStream mapToLong(ToLongFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToLong");
+		return spliteratorStream().mapToLong(mapper);
 	}
 
 	@Override
 	public DoubleStream mapToDouble(ToDoubleFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToDouble");
+		return spliteratorStream().mapToDouble(mapper);
 	}
 
 	@Override
 	public IntStream flatMapToInt(Function<? super E, ? extends IntStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToInt");
+		return spliteratorStream().flatMapToInt(mapper);
 	}
 
 	@Override
 	public LongStream flatMapToLong(Function<? super E, ? extends LongStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToLong");
+		return spliteratorStream().flatMapToLong(mapper);
 	}
 
 	@Override
 	public DoubleStream flatMapToDouble(Function<? super E, ? extends DoubleStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToDouble");
+		return spliteratorStream().flatMapToDouble(mapper);
 	}
 
 	@Override
 	public Stream<E> distinct() {
-		return underlying.distinct().stream();
+		return consume().distinct().stream();
 	}
 
 	@Override
 	public Stream<E> sorted() {
-		return underlying.sorted().stream();
+		return consume().sorted().stream();
 	}
 
 	@Override
 	public Stream<E> sorted(Comparator<? super E> comparator) {
-		return underlying.sorted(comparator).stream();
+		return consume().sorted(comparator).stream();
 	}
 
 	@Override
 	public Stream<E> peek(Consumer<? super E> consumer) {
-		return underlying.map(e -> {
+		return map(e -> {
 			consumer.accept(e);
 			return e;
-		}).stream();
+		});
 	}
 
 	@Override
 	public <R> R collect(Supplier<R> resultFactory, BiConsumer<R, ? super E> accumulator, BiConsumer<R, R> combiner) {
 		R result = resultFactory.get();
-		for (E element : underlying) {
-			accumulator.accept(result, element);
+		final Iterator<E> iterator = consume().iterator();
+		while (iterator.hasNext()) {
+			accumulator.accept(result, iterator.next());
 		}
 		return result;
 	}
@@ -229,11 +279,12 @@ class LazySeqStream<E> implements Stream<E> {
 	@Override
 	public <R, A> R collect(Collector<? super E, A, R> collector) {
 		if (collector instanceof DummyLazySeqCollector) {
-			return (R) underlying;
+			return (R) consume();
 		}
 		A result = collector.supplier().get();
-		for (E element : underlying) {
-			collector.accumulator().accept(result, element);
+		final Iterator<E> iterator = consume().iterator();
+		while (iterator.hasNext()) {
+			collector.accumulator().accept(result, iterator.next());
 		}
 		return collector.finisher().apply(result);
 	}
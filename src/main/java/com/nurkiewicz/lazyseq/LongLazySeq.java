@@ -0,0 +1,422 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.*;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of primitive <code>long</code> values, specialized version of {@link LazySeq}&lt;{@link Long}&gt;.
+ * Elements are evaluated and stored in chunks of plain <code>long[]</code> arrays, thus no boxing takes place.
+ * All transformations are lazy, each chunk is computed when first observed and memoized afterwards.
+ */
+public final class LongLazySeq {
+
+	static final int CHUNK_SIZE = 64;
+
+	private static final Chunk EMPTY_CHUNK = new Chunk(new long[0], 0, 0, null);
+	private static final LongLazySeq EMPTY = new LongLazySeq(EMPTY_CHUNK, 0);
+
+	private static final AtomicReferenceFieldUpdater<LongLazySeq, Object> CHUNK =
+			AtomicReferenceFieldUpdater.newUpdater(LongLazySeq.class, Object.class, "chunkOrSupplier");
+
+	private volatile Object chunkOrSupplier;
+	private final int offset;
+
+	private LongLazySeq(Supplier<Chunk> chunkFun) {
+		this.chunkOrSupplier = chunkFun;
+		this.offset = 0;
+	}
+
+	private LongLazySeq(Chunk chunk, int offset) {
+		this.chunkOrSupplier = chunk;
+		this.offset = offset;
+	}
+
+	public static LongLazySeq empty() {
+		return EMPTY;
+	}
+
+	public static LongLazySeq of(long... elements) {
+		if (elements.length == 0) {
+			return empty();
+		}
+		return new LongLazySeq(new Chunk(elements.clone(), 0, elements.length, empty()), 0);
+	}
+
+	public static LongLazySeq numbers(long start) {
+		return numbers(start, 1);
+	}
+
+	public static LongLazySeq numbers(long start, long step) {
+		return new LongLazySeq(() -> {
+			final long[] elements = new long[CHUNK_SIZE];
+			long cur = start;
+			for (int i = 0; i < CHUNK_SIZE; ++i) {
+				elements[i] = cur;
+				cur += step;
+			}
+			return new Chunk(elements, 0, CHUNK_SIZE, numbers(cur, step));
+		});
+	}
+
+	public static LongLazySeq iterate(long initial, LongUnaryOperator fun) {
+		return new LongLazySeq(() -> {
+			final long[] elements = new long[CHUNK_SIZE];
+			long cur = initial;
+			elements[0] = cur;
+			for (int i = 1; i < CHUNK_SIZE; ++i) {
+				cur = fun.applyAsLong(cur);
+				elements[i] = cur;
+			}
+			final long last = cur;
+			return new Chunk(elements, 0, CHUNK_SIZE, new LongLazySeq(() -> iterate(fun.applyAsLong(last), fun).chunk()));
+		});
+	}
+
+	public static LongLazySeq tabulate(int start, IntToLongFunction generator) {
+		return new LongLazySeq(() -> {
+			final long[] elements = new long[CHUNK_SIZE];
+			for (int i = 0; i < CHUNK_SIZE; ++i) {
+				elements[i] = generator.applyAsLong(start + i);
+			}
+			return new Chunk(elements, 0, CHUNK_SIZE, tabulate(start + CHUNK_SIZE, generator));
+		});
+	}
+
+	static <E> LongLazySeq from(LazySeq<E> seq, ToLongFunction<? super E> mapper) {
+		return new LongLazySeq(() -> {
+			final long[] elements = new long[CHUNK_SIZE];
+			int count = 0;
+			LazySeq<E> cur = seq;
+			while (!cur.isEmpty()) {
+				elements[count++] = mapper.applyAsLong(cur.head());
+				if (count == CHUNK_SIZE) {
+					final LazySeq<E> last = cur;
+					return new Chunk(elements, 0, count, new LongLazySeq(() -> from(last.tail(), mapper).chunk()));
+				}
+				cur = cur.tail();
+			}
+			return count == 0 ? EMPTY_CHUNK : new Chunk(elements, 0, count, empty());
+		});
+	}
+
+	private Chunk chunk() {
+		return TailMemo.evaluate(CHUNK, this);
+	}
+
+	private int position(Chunk chunk) {
+		return chunk.start + offset;
+	}
+
+	public boolean isEmpty() {
+		final Chunk chunk = chunk();
+		return position(chunk) >= chunk.end;
+	}
+
+	public long head() {
+		final Chunk chunk = chunk();
+		if (position(chunk) >= chunk.end) {
+			throw new NoSuchElementException("head of empty stream");
+		}
+		return chunk.elements[position(chunk)];
+	}
+
+	public LongLazySeq tail() {
+		final Chunk chunk = chunk();
+		final int position = position(chunk);
+		if (position >= chunk.end) {
+			throw new NoSuchElementException("tail of empty stream");
+		}
+		if (position + 1 < chunk.end) {
+			return new LongLazySeq(chunk, offset + 1);
+		}
+		return chunk.next;
+	}
+
+	public long get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		final LongLazySeq dropped = drop(index);
+		if (dropped.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return dropped.head();
+	}
+
+	public LongLazySeq map(LongUnaryOperator mapper) {
+		return new LongLazySeq(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			if (position >= chunk.end) {
+				return EMPTY_CHUNK;
+			}
+			final long[] mapped = new long[chunk.end - position];
+			for (int i = 0; i < mapped.length; ++i) {
+				mapped[i] = mapper.applyAsLong(chunk.elements[position + i]);
+			}
+			return new Chunk(mapped, 0, mapped.length, chunk.next.map(mapper));
+		});
+	}
+
+	public <R> LazySeq<R> mapToObj(LongFunction<? extends R> mapper) {
+		return new DeferredSeq<>(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			if (position >= chunk.end) {
+				return LazySeq.empty();
+			}
+			final Object[] mapped = new Object[chunk.end - position];
+			for (int i = 0; i < mapped.length; ++i) {
+				mapped[i] = mapper.apply(chunk.elements[position + i]);
+			}
+			return new ChunkedCons<>(mapped, () -> chunk.next.mapToObj(mapper));
+		});
+	}
+
+	public LazySeq<Long> boxed() {
+		return mapToObj(x -> x);
+	}
+
+	public LongLazySeq filter(LongPredicate predicate) {
+		return new LongLazySeq(() -> {
+			LongLazySeq cur = this;
+			while (true) {
+				final Chunk chunk = cur.chunk();
+				final int position = cur.position(chunk);
+				if (position >= chunk.end) {
+					return EMPTY_CHUNK;
+				}
+				final long[] matching = new long[chunk.end - position];
+				int count = 0;
+				for (int i = position; i < chunk.end; ++i) {
+					if (predicate.test(chunk.elements[i])) {
+						matching[count++] = chunk.elements[i];
+					}
+				}
+				if (count > 0) {
+					return new Chunk(matching, 0, count, chunk.next.filter(predicate));
+				}
+				cur = chunk.next;
+			}
+		});
+	}
+
+	public LongLazySeq take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (maxSize == 0) {
+			return empty();
+		}
+		return new LongLazySeq(() -> {
+			final Chunk chunk = chunk();
+			final int position = position(chunk);
+			final int available = chunk.end - position;
+			if (available <= 0) {
+				return EMPTY_CHUNK;
+			}
+			if (maxSize <= available) {
+				return new Chunk(chunk.elements, position, position + (int) maxSize, empty());
+			}
+			return new Chunk(chunk.elements, position, chunk.end, chunk.next.take(maxSize - available));
+		});
+	}
+
+	public LongLazySeq limit(long maxSize) {
+		return take(maxSize);
+	}
+
+	public LongLazySeq drop(long startInclusive) {
+		if (startInclusive < 0) {
+			throw new IllegalArgumentException(Long.toString(startInclusive));
+		}
+		LongLazySeq cur = this;
+		long left = startInclusive;
+		while (left > 0) {
+			final Chunk chunk = cur.chunk();
+			final int available = chunk.end - cur.position(chunk);
+			if (available <= 0) {
+				return empty();
+			}
+			if (left < available) {
+				return new LongLazySeq(chunk, cur.offset + (int) left);
+			}
+			left -= available;
+			cur = chunk.next;
+		}
+		return cur;
+	}
+
+	public void forEach(LongConsumer action) {
+		LongLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				action.accept(chunk.elements[i]);
+			}
+			if (chunk.next == null) {
+				return;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public long reduce(long identity, LongBinaryOperator accumulator) {
+		long result = identity;
+		LongLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				result = accumulator.applyAsLong(result, chunk.elements[i]);
+			}
+			if (chunk.next == null) {
+				return result;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public long sum() {
+		return reduce(0, (a, b) -> a + b);
+	}
+
+	public int size() {
+		int size = 0;
+		LongLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			size += Math.max(0, chunk.end - cur.position(chunk));
+			if (chunk.next == null) {
+				return size;
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public long[] toArray() {
+		long[] array = new long[CHUNK_SIZE];
+		int size = 0;
+		LongLazySeq cur = this;
+		while (true) {
+			final Chunk chunk = cur.chunk();
+			final int position = cur.position(chunk);
+			final int count = Math.max(0, chunk.end - position);
+			if (size + count > array.length) {
+				array = Arrays.copyOf(array, Math.max(array.length * 2, size + count));
+			}
+			System.arraycopy(chunk.elements, position, array, size, count);
+			size += count;
+			if (chunk.next == null) {
+				return Arrays.copyOf(array, size);
+			}
+			cur = chunk.next;
+		}
+	}
+
+	public LongLazySeq force() {
+		size();
+		return this;
+	}
+
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private LongLazySeq underlying = LongLazySeq.this;
+
+			@Override
+			public boolean hasNext() {
+				return !underlying.isEmpty();
+			}
+
+			@Override
+			public long nextLong() {
+				final long next = underlying.head();
+				underlying = underlying.tail();
+				return next;
+			}
+		};
+	}
+
+	public LongStream stream() {
+		final Spliterator.OfLong spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+		return StreamSupport.longStream(spliterator, false);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder s = new StringBuilder("[");
+		LongLazySeq cur = this;
+		boolean first = true;
+		while (TailMemo.isDefined(cur.chunkOrSupplier)) {
+			final Chunk chunk = cur.chunk();
+			for (int i = cur.position(chunk); i < chunk.end; ++i) {
+				if (!first) {
+					s.append(", ");
+				}
+				s.append(chunk.elements[i]);
+				first = false;
+			}
+			if (chunk.next == null) {
+				return s.append("]").toString();
+			}
+			cur = chunk.next;
+		}
+		return s.append(first ? "?]" : ", ?]").toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof LongLazySeq)) return false;
+
+		final PrimitiveIterator.OfLong left = iterator();
+		final PrimitiveIterator.OfLong right = ((LongLazySeq) o).iterator();
+		while (left.hasNext() && right.hasNext()) {
+			if (Long.compare(left.nextLong(), right.nextLong()) != 0) {
+				return false;
+			}
+		}
+		return !left.hasNext() && !right.hasNext();
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		int multiplier = 1;
+		final PrimitiveIterator.OfLong iterator = iterator();
+		while (iterator.hasNext()) {
+			hash += Long.hashCode(iterator.nextLong()) * multiplier;
+			multiplier *= 31;
+		}
+		return hash;
+	}
+
+	/**
+	 * Evaluated block of elements <code>elements[start..end)</code> followed by lazy <code>next</code> sequence.
+	 * <code>next</code> is <code>null</code> only for the terminal empty chunk.
+	 */
+	private static final class Chunk {
+
+		private final long[] elements;
+		private final int start;
+		private final int end;
+		private final LongLazySeq next;
+
+		Chunk(long[] elements, int start, int end, LongLazySeq next) {
+			this.elements = elements;
+			this.start = start;
+			this.end = end;
+			this.next = next;
+		}
+
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.nurkiewicz.lazyseq;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How evaluated parts of a sequence are retained, see e.g. {@link LazySeq#iterate(Object, java.util.function.Function, Memoization)}.
+ * <p/>
+ * {@link #STRONG} memoization keeps everything evaluated as long as the sequence is reachable.
+ * {@link #SOFT} holds memoized tails (or pages of {@link LazySeq#tabulate(int, java.util.function.Function)})
+ * through {@link SoftReference}s, so garbage collector may evict them under memory pressure.
+ * Evicted parts are recomputed from the nearest retained cell, thus suppliers and generators must be pure.
+ * Concurrent first access to the same part may compute it more than once.
+ * Evictions and recomputations of all {@link #SOFT} sequences are counted globally.
+ */
+public enum Memoization {
+
+	STRONG, SOFT;
+
+	private static final ReferenceQueue<Object> EVICTED = new ReferenceQueue<>();
+	private static final AtomicLong evictions = new AtomicLong();
+	private static final AtomicLong recomputations = new AtomicLong();
+
+	/**
+	 * Number of softly memoized parts cleared by garbage collector so far.
+	 */
+	public static long evictions() {
+		drainEvicted();
+		return evictions.get();
+	}
+
+	/**
+	 * Number of times previously evaluated part had to be recomputed after eviction.
+	 */
+	public static long recomputations() {
+		return recomputations.get();
+	}
+
+	static <T> SoftReference<T> softly(T value) {
+		drainEvicted();
+		return new SoftReference<>(value, EVICTED);
+	}
+
+	static void recomputed() {
+		recomputations.incrementAndGet();
+	}
+
+	private static void drainEvicted() {
+		while (EVICTED.poll() != null) {
+			evictions.incrementAndGet();
+		}
+	}
+
+}
@@ -139,7 +139,7 @@ class Nil<E> extends LazySeq<E> {
 
 	@Override
 	public boolean equals(Object o) {
-		return o instanceof Nil;
+		return o instanceof LazySeq && ((LazySeq<?>) o).isEmpty();
 	}
 
 	@Override
@@ -0,0 +1,17 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.List;
+
+/**
+ * Fetches up to <code>limit</code> consecutive records starting at <code>offset</code>, e.g. single page of a database query.
+ * Returning fewer than <code>limit</code> records means there is nothing more to fetch.
+ * Returning <code>null</code> or more than <code>limit</code> records fails accessing that page.
+ *
+ * @see LazySeq#paged(PageLoader, int, int, java.util.concurrent.Executor)
+ */
+@FunctionalInterface
+public interface PageLoader<E> {
+
+	List<E> load(long offset, int limit);
+
+}
@@ -0,0 +1,138 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Produces consecutive pages of {@link LazySeq#paged(PageLoader, int, int, Executor)}, keeping up to
+ * <code>parallelism</code> subsequent pages in flight. Each page becomes a chunk of ordinary memoized sequence,
+ * the next page is taken when tail of the last element of the previous one is evaluated, always in order.
+ * <p/>
+ * Page size starts at the initial one and adapts to the consumer: whenever it had to wait for the page,
+ * subsequent pages are twice as big (up to {@link #MAX_GROWTH} times the initial size), amortizing loader latency.
+ * When consuming a page takes much longer than loading it, pages shrink back, so that less is fetched in vain.
+ */
+final class PagedSource<E> {
+
+	static final int MAX_GROWTH = 16;
+
+	private final PageLoader<E> loader;
+	private final Executor executor;
+	private final int parallelism;
+	private final int minPageSize;
+	private final int maxPageSize;
+	private final Deque<Page<E>> inFlight = new ArrayDeque<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private int pageSize;
+	private long nextOffset;
+	private boolean exhausted;
+	private long lastTakenNanos;
+
+	PagedSource(PageLoader<E> loader, int pageSize, int parallelism, Executor executor) {
+		this.loader = Objects.requireNonNull(loader);
+		this.executor = Objects.requireNonNull(executor);
+		this.parallelism = parallelism;
+		this.minPageSize = pageSize;
+		this.maxPageSize = (int) Math.min(Integer.MAX_VALUE, (long) pageSize * MAX_GROWTH);
+		this.pageSize = pageSize;
+		this.lastTakenNanos = System.nanoTime();
+	}
+
+	LazySeq<E> seq() {
+		return new DeferredSeq<>(this::nextPage);
+	}
+
+	/**
+	 * Waits for the page under {@link ReentrantLock} rather than a monitor, so that virtual threads waiting
+	 * for a slow loader unmount from their carriers.
+	 */
+	private LazySeq<E> nextPage() {
+		lock.lock();
+		try {
+			return takePage();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private LazySeq<E> takePage() {
+		fillUp();
+		final Page<E> page = inFlight.peekFirst();
+		final boolean waited = !page.result.isDone();
+		final List<E> records;
+		try {
+			records = page.result.join();
+		} catch (CompletionException e) {
+			inFlight.removeFirst();
+			inFlight.addFirst(load(page.offset, page.limit));
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		}
+		inFlight.removeFirst();
+		adapt(page, waited);
+		if (records.size() < page.limit) {
+			exhausted = true;
+			inFlight.forEach(discarded -> discarded.result.cancel(false));
+			inFlight.clear();
+			return LazySeq.concat(records, LazySeq.<E>empty());
+		}
+		return LazySeq.concat(records, this::nextPage);
+	}
+
+	private void fillUp() {
+		while (!exhausted && inFlight.size() < parallelism) {
+			inFlight.addLast(load(nextOffset, pageSize));
+			nextOffset += pageSize;
+		}
+	}
+
+	private Page<E> load(long offset, int limit) {
+		final Page<E> page = new Page<>(offset, limit);
+		executor.execute(() -> {
+			if (page.result.isDone()) {
+				return;
+			}
+			final long start = System.nanoTime();
+			try {
+				final List<E> records = Objects.requireNonNull(loader.load(offset, limit), "Loader returned null for page at offset " + offset);
+				if (records.size() > limit) {
+					throw new IllegalStateException("Loader returned " + records.size() + " records for page at offset " + offset + " limited to " + limit);
+				}
+				page.loadingNanos = System.nanoTime() - start;
+				page.result.complete(records);
+			} catch (RuntimeException | Error e) {
+				page.result.completeExceptionally(e);
+			}
+		});
+		return page;
+	}
+
+	private void adapt(Page<E> page, boolean waited) {
+		final long now = System.nanoTime();
+		final long consumingNanos = now - lastTakenNanos;
+		lastTakenNanos = now;
+		if (waited) {
+			pageSize = Math.min(maxPageSize, pageSize * 2);
+		} else if (page.loadingNanos > 0 && consumingNanos > 4 * page.loadingNanos * parallelism) {
+			pageSize = Math.max(minPageSize, pageSize / 2);
+		}
+	}
+
+	private static final class Page<E> {
+		final long offset;
+		final int limit;
+		final CompletableFuture<List<E>> result = new CompletableFuture<>();
+		volatile long loadingNanos;
+
+		Page(long offset, int limit) {
+			this.offset = offset;
+			this.limit = limit;
+		}
+	}
+
+}
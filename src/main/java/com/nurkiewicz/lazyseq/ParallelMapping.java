@@ -0,0 +1,176 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Mapping of a sequence with asynchronous <code>mapper</code>, keeping at most <code>parallelism</code>
+ * invocations in flight ahead of the consumer, see {@link LazySeq#parMap(Function, int, java.util.concurrent.Executor)}
+ * and {@link LazySeq#mapAsync(Function, int)}. Results form ordinary memoized sequence. The tail of each result cell
+ * takes the oldest (or, if unordered, the first completed) pending invocation and starts new ones for subsequent
+ * source elements, so only the window and the unconsumed source tail are referenced.
+ * <p/>
+ * Taking first <code>n</code> elements of not yet accessed result limits invocations to first <code>n</code> source
+ * elements, so that downstream {@link LazySeq#take(long)} does not issue requests whose results would be dropped.
+ * The limit is lifted as soon as anyone traverses further.
+ */
+final class ParallelMapping<T, R> {
+
+	private final Function<? super T, ? extends CompletionStage<? extends R>> mapper;
+	private final int parallelism;
+	private final boolean ordered;
+	private final Deque<Pending<T, R>> inFlight = new ArrayDeque<>();
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Number of source elements invocations are limited to, <code>-1</code> until first demand,
+	 * updated without {@link #lock} so that {@link #demand(long)} never waits for pending invocation.
+	 */
+	private final AtomicLong limit = new AtomicLong(-1);
+	private LazySeq<T> source;
+	private long issued;
+
+	ParallelMapping(LazySeq<T> source, Function<? super T, ? extends CompletionStage<? extends R>> mapper, int parallelism, boolean ordered) {
+		this.source = source;
+		this.mapper = mapper;
+		this.parallelism = parallelism;
+		this.ordered = ordered;
+	}
+
+	LazySeq<R> seq() {
+		return new Head();
+	}
+
+	/**
+	 * Waits for the taken invocation under {@link ReentrantLock} rather than a monitor,
+	 * so that a virtual thread blocked on a slow mapper unmounts from its carrier.
+	 */
+	private LazySeq<R> next() {
+		lock.lock();
+		try {
+			return take();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private LazySeq<R> take() {
+		limit.compareAndSet(-1, Long.MAX_VALUE);
+		fillUp();
+		if (inFlight.isEmpty() && issued >= limit.get()) {
+			limit.set(Long.MAX_VALUE);
+			fillUp();
+		}
+		final Pending<T, R> taken = ordered ? inFlight.pollFirst() : pollCompleted();
+		if (taken == null) {
+			return LazySeq.empty();
+		}
+		if (taken.result == null) {
+			taken.result = invoke(taken.element);
+		}
+		final R result;
+		try {
+			result = taken.result.join();
+		} catch (CompletionException e) {
+			taken.result = null;
+			inFlight.addFirst(taken);
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		}
+		fillUp();
+		return LazySeq.cons(result, this::next);
+	}
+
+	private void demand(long maxSize) {
+		limit.updateAndGet(cur -> cur == Long.MAX_VALUE ? cur : Math.max(cur, maxSize));
+	}
+
+	private void fillUp() {
+		while (inFlight.size() < parallelism && issued < limit.get() && !source.isEmpty()) {
+			final T element = source.head();
+			inFlight.addLast(new Pending<>(element, invoke(element)));
+			source = source.tail();
+			++issued;
+		}
+	}
+
+	/**
+	 * Restarts invocations that previously failed and waits until any of pending invocations completes.
+	 */
+	private Pending<T, R> pollCompleted() {
+		if (inFlight.isEmpty()) {
+			return null;
+		}
+		final CompletableFuture<?>[] results = new CompletableFuture<?>[inFlight.size()];
+		int i = 0;
+		for (Pending<T, R> pending : inFlight) {
+			if (pending.result == null) {
+				pending.result = invoke(pending.element);
+			}
+			results[i++] = pending.result;
+		}
+		CompletableFuture.anyOf(results).handle((ignored, e) -> null).join();
+		final Iterator<Pending<T, R>> iterator = inFlight.iterator();
+		while (iterator.hasNext()) {
+			final Pending<T, R> pending = iterator.next();
+			if (pending.result.isDone()) {
+				iterator.remove();
+				return pending;
+			}
+		}
+		throw new IllegalStateException("None of pending invocations completed");
+	}
+
+	private CompletableFuture<R> invoke(T element) {
+		final CompletableFuture<R> result = new CompletableFuture<>();
+		try {
+			mapper.apply(element).whenComplete((mapped, e) -> {
+				if (e != null) {
+					result.completeExceptionally(e);
+				} else {
+					result.complete(mapped);
+				}
+			});
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Invocation of mapper on <code>element</code>, <code>result</code> is <code>null</code> if it failed and awaits retry.
+	 */
+	private static final class Pending<T, R> {
+		final T element;
+		CompletableFuture<R> result;
+
+		Pending(T element, CompletableFuture<R> result) {
+			this.element = element;
+			this.result = result;
+		}
+	}
+
+	/**
+	 * Beginning of result sequence, reporting {@link #take(long)} as the demand.
+	 */
+	private final class Head extends DeferredSeq<R> {
+
+		Head() {
+			super(ParallelMapping.this::next);
+		}
+
+		@Override
+		protected LazySeq<R> takeUnsafe(long maxSize) {
+			demand(maxSize);
+			return super.takeUnsafe(maxSize);
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.nurkiewicz.lazyseq.LazySeq.cons;
+import static com.nurkiewicz.lazyseq.LazySeq.empty;
+
+/**
+ * Chain of stateless operations ({@link LazySeq#map(Function)}, {@link LazySeq#filter(Predicate)}
+ * and {@link LazySeq#takeWhile(Predicate)}) applied to <code>source</code>, composed into a single {@link Step}
+ * invoked once per source element. Source is traversed in a loop, skipping rejected elements without recursion.
+ * <p/>
+ * Every {@link LazySeq} is observable on its own, thus operations on sequences are never composed:
+ * <code>seq.map(f).filter(p)</code> filters memoized output of <code>map</code>, so that other branches
+ * built on top of it don't run <code>f</code> again. Composition is used only by {@link LazySeqStream},
+ * whose intermediate stages are consumed by the next operation and cannot be observed.
+ */
+final class Pipeline<T, E> implements Supplier<LazySeq<E>> {
+
+	/**
+	 * Result of {@link Step#apply(Object)} meaning: source element was rejected, proceed to the next one.
+	 */
+	private static final Object SKIP = new Object();
+
+	/**
+	 * Result of {@link Step#apply(Object)} meaning: sequence ends here.
+	 */
+	private static final Object STOP = new Object();
+
+	private final LazySeq<T> source;
+	private final boolean afterHead;
+	private final Step<T> step;
+
+	private Pipeline(LazySeq<T> source, boolean afterHead, Step<T> step) {
+		this.source = source;
+		this.afterHead = afterHead;
+		this.step = step;
+	}
+
+	static <T, R> Pipeline<T, R> map(LazySeq<T> source, Function<? super T, ? extends R> mapper) {
+		return new Pipeline<>(source, false, mapper::apply);
+	}
+
+	static <T> Pipeline<T, T> filter(LazySeq<T> source, Predicate<? super T> predicate) {
+		return new Pipeline<>(source, false, e -> predicate.test(e) ? e : SKIP);
+	}
+
+	static <T> Pipeline<T, T> takeWhile(LazySeq<T> source, Predicate<? super T> predicate) {
+		return new Pipeline<>(source, false, e -> predicate.test(e) ? e : STOP);
+	}
+
+	@SuppressWarnings("unchecked")
+	<R> Pipeline<T, R> map(Function<? super E, ? extends R> mapper) {
+		return new Pipeline<>(source, afterHead, e -> {
+			final Object result = step.apply(e);
+			return isElement(result) ? mapper.apply((E) result) : result;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	Pipeline<T, E> filter(Predicate<? super E> predicate) {
+		return new Pipeline<>(source, afterHead, e -> {
+			final Object result = step.apply(e);
+			return isElement(result) && !predicate.test((E) result) ? SKIP : result;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	Pipeline<T, E> takeWhile(Predicate<? super E> predicate) {
+		return new Pipeline<>(source, afterHead, e -> {
+			final Object result = step.apply(e);
+			return isElement(result) && !predicate.test((E) result) ? STOP : result;
+		});
+	}
+
+	private static boolean isElement(Object result) {
+		return result != SKIP && result != STOP;
+	}
+
+	/**
+	 * Output sequence, not evaluated until observed.
+	 */
+	LazySeq<E> seq() {
+		return new DeferredSeq<>(this);
+	}
+
+	/**
+	 * Finds the first source element passing all stages. Output cell refers to the rest of the output through
+	 * a single {@link DeferredSeq} resuming after the matched source cell, not evaluated until observed.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public LazySeq<E> get() {
+		LazySeq<T> cur = afterHead ? source.tail() : source;
+		while (!cur.isEmpty()) {
+			final Object result = step.apply(cur.head());
+			if (result == STOP) {
+				return empty();
+			}
+			if (result != SKIP) {
+				return cons((E) result, new Pipeline<T, E>(cur, true, step).seq());
+			}
+			cur = cur.tail();
+		}
+		return empty();
+	}
+
+	/**
+	 * Composed operations applied to single source element.
+	 * Returns transformed element, {@link #SKIP} or {@link #STOP}.
+	 */
+	@FunctionalInterface
+	private interface Step<T> {
+		Object apply(T element);
+	}
+
+}
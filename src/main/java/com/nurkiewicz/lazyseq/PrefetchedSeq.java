@@ -0,0 +1,179 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * View over underlying sequence that keeps evaluating its tails in the background, at most <code>depth</code>
+ * cells ahead of the furthest one reached through this view. Underlying cells memoize their tails exactly once,
+ * so whichever side comes first evaluates the tail and the other one waits for (or reuses) the result.
+ *
+ * @see LazySeq#prefetch(int, Executor)
+ */
+final class PrefetchedSeq<E> extends LazySeq<E> {
+
+	private final ReadAhead<E> readAhead;
+	private final long position;
+	private final LazySeq<E> cell;
+
+	private PrefetchedSeq(ReadAhead<E> readAhead, long position, LazySeq<E> cell) {
+		this.readAhead = readAhead;
+		this.position = position;
+		this.cell = cell;
+	}
+
+	static <E> LazySeq<E> start(LazySeq<E> underlying, int depth, Executor executor) {
+		final ReadAhead<E> readAhead = new ReadAhead<>(underlying, depth, Objects.requireNonNull(executor));
+		readAhead.reached(0, underlying);
+		return new PrefetchedSeq<>(readAhead, 0, underlying);
+	}
+
+	@Override
+	public E head() {
+		return cell.head();
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		final LazySeq<E> tail = cell.tail();
+		readAhead.reached(position + 1, tail);
+		return new PrefetchedSeq<>(readAhead, position + 1, tail);
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return cell.isTailDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return cell.isEmpty();
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return Pipeline.<E, R>map(this, mapper).seq();
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			if (isEmpty()) {
+				return empty();
+			}
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head()).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize > 1) {
+			return new DeferredSeq<>(() -> isEmpty() ? empty() : cons(head(), () -> tail().takeUnsafe(maxSize - 1)));
+		} else {
+			return new DeferredSeq<>(() -> isEmpty() ? empty() : LazySeq.of(head()));
+		}
+	}
+
+	/**
+	 * State shared by all cells of one prefetched sequence. At most one background task runs at a time,
+	 * walking from the furthest prefetched cell (<code>frontier</code>) until it is <code>depth</code> cells
+	 * ahead of the consumer. Cells behind the consumer are never referenced.
+	 */
+	private static final class ReadAhead<E> implements Runnable {
+
+		private final int depth;
+		private final Executor executor;
+		private LazySeq<E> frontier;
+		private long frontierPosition;
+		private long furthestReached = -1;
+		private long stoppedAt = -1;
+		private boolean running;
+
+		ReadAhead(LazySeq<E> root, int depth, Executor executor) {
+			this.frontier = root;
+			this.depth = depth;
+			this.executor = executor;
+		}
+
+		void reached(long position, LazySeq<E> cell) {
+			synchronized (this) {
+				if (position <= furthestReached) {
+					return;
+				}
+				furthestReached = position;
+				if (position > frontierPosition) {
+					frontier = cell;
+					frontierPosition = position;
+				}
+				if (running || position <= stoppedAt || frontierPosition >= position + depth) {
+					return;
+				}
+				running = true;
+			}
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				synchronized (this) {
+					running = false;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				final LazySeq<E> cur;
+				final long curPosition;
+				synchronized (this) {
+					if (frontierPosition >= furthestReached + depth || frontierPosition <= stoppedAt) {
+						running = false;
+						return;
+					}
+					cur = frontier;
+					curPosition = frontierPosition;
+				}
+				final LazySeq<E> next;
+				try {
+					if (cur.isEmpty()) {
+						synchronized (this) {
+							stoppedAt = Long.MAX_VALUE;
+							running = false;
+						}
+						return;
+					}
+					next = cur.tail();
+				} catch (RuntimeException | Error e) {
+					synchronized (this) {
+						stoppedAt = curPosition;
+						running = false;
+					}
+					return;
+				}
+				synchronized (this) {
+					if (frontierPosition == curPosition) {
+						frontier = next;
+						frontierPosition = curPosition + 1;
+					}
+				}
+			}
+		}
+
+	}
+
+}
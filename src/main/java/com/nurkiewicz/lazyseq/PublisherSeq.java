@@ -0,0 +1,163 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sequence of items signalled by {@link Flow.Publisher}, see {@link LazySeq#fromPublisher(Flow.Publisher, int)}.
+ * Subscribes when the sequence is first accessed and requests <code>prefetch</code> items upfront, then another batch
+ * each time three quarters of it were consumed. Thus at most <code>prefetch</code> items are ever buffered,
+ * publisher signalling more than requested is cancelled and the sequence fails, ignoring anything signalled later.
+ * Evaluating the tail of the last consumed item blocks until the publisher signals the next one.
+ * Signals are buffered and awaited under a single {@link ReentrantLock}, which, unlike a monitor,
+ * lets a blocked virtual thread unmount from its carrier.
+ */
+final class PublisherSeq<E> implements Flow.Subscriber<E> {
+
+	private static final Object COMPLETE = new Object();
+
+	private final Flow.Publisher<? extends E> publisher;
+	private final int prefetch;
+	private final int batch;
+	private final Deque<Object> signals = new ArrayDeque<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition signalled = lock.newCondition();
+	private final AtomicLong outstanding = new AtomicLong();
+	private volatile Flow.Subscription subscription;
+
+	/**
+	 * Set once publisher signalled more than requested, all its subsequent signals are dropped.
+	 */
+	private volatile boolean overflowed;
+	private boolean subscribed;
+	private int consumedSinceRequest;
+	private Object terminal;
+
+	PublisherSeq(Flow.Publisher<? extends E> publisher, int prefetch) {
+		this.publisher = Objects.requireNonNull(publisher);
+		this.prefetch = prefetch;
+		this.batch = Math.max(1, prefetch - prefetch / 4);
+	}
+
+	LazySeq<E> seq() {
+		return new DeferredSeq<>(this::next);
+	}
+
+	private LazySeq<E> next() {
+		lock.lock();
+		try {
+			return take();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private LazySeq<E> take() {
+		if (terminal != null) {
+			return terminated();
+		}
+		if (!subscribed) {
+			subscribed = true;
+			publisher.subscribe(this);
+		}
+		try {
+			while (signals.isEmpty()) {
+				signalled.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for next item", e);
+		}
+		final Object signal = signals.removeFirst();
+		if (signal == COMPLETE || signal instanceof Failure) {
+			terminal = signal;
+			return terminated();
+		}
+		if (++consumedSinceRequest == batch) {
+			consumedSinceRequest = 0;
+			request(subscription, batch);
+		}
+		return LazySeq.cons((E) signal, this::next);
+	}
+
+	private LazySeq<E> terminated() {
+		if (terminal instanceof Failure) {
+			final Throwable cause = ((Failure) terminal).cause;
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		return LazySeq.empty();
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		if (this.subscription != null) {
+			subscription.cancel();
+			return;
+		}
+		this.subscription = subscription;
+		request(subscription, prefetch);
+	}
+
+	private void request(Flow.Subscription subscription, int n) {
+		outstanding.addAndGet(n);
+		subscription.request(n);
+	}
+
+	@Override
+	public void onNext(E item) {
+		if (overflowed) {
+			return;
+		}
+		if (outstanding.decrementAndGet() < 0) {
+			overflowed = true;
+			subscription.cancel();
+			signal(new Failure(new IllegalStateException("Publisher signalled more items than requested")));
+			return;
+		}
+		signal(Objects.requireNonNull(item));
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		if (!overflowed) {
+			signal(new Failure(throwable));
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (!overflowed) {
+			signal(COMPLETE);
+		}
+	}
+
+	private void signal(Object signal) {
+		lock.lock();
+		try {
+			signals.addLast(signal);
+			signalled.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static final class Failure {
+		final Throwable cause;
+
+		Failure(Throwable cause) {
+			this.cause = cause;
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elements taken from {@link BlockingQueue} fed by producer thread,
+ * see {@link LazySeq#drain(BlockingQueue, Object, int, long, TimeUnit)}. Each tail evaluation waits for one element,
+ * then drains whatever else is already queued (up to <code>maxBatch</code> in total) into a single block of
+ * {@link ChunkedCons} cells sharing one memoized supplier of the next block.
+ */
+final class QueueSource<E> {
+
+	private final BlockingQueue<? extends E> queue;
+	private final E poisonPill;
+	private final int maxBatch;
+	private final long timeoutNanos;
+
+	QueueSource(BlockingQueue<? extends E> queue, E poisonPill, int maxBatch, long timeout, TimeUnit unit) {
+		this.queue = Objects.requireNonNull(queue);
+		this.poisonPill = poisonPill;
+		this.maxBatch = maxBatch;
+		this.timeoutNanos = unit.toNanos(timeout);
+	}
+
+	LazySeq<E> seq() {
+		return new DeferredSeq<>(this::next);
+	}
+
+	private LazySeq<E> next() {
+		final E first;
+		try {
+			first = queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for next element", e);
+		}
+		if (first == null || isPoisonPill(first)) {
+			return LazySeq.empty();
+		}
+		final List<E> batch = new ArrayList<>(Math.min(maxBatch, queue.size() + 1));
+		batch.add(first);
+		queue.drainTo(batch, maxBatch - 1);
+		for (int i = 1; i < batch.size(); ++i) {
+			if (isPoisonPill(batch.get(i))) {
+				return ArraySeq.wrap(batch.subList(0, i).toArray());
+			}
+		}
+		return new ChunkedCons<>(batch.toArray(), this::next);
+	}
+
+	private boolean isPoisonPill(E element) {
+		return poisonPill != null && poisonPill.equals(element);
+	}
+
+}
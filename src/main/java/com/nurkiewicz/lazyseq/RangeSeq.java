@@ -0,0 +1,502 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sequence, possibly infinite, with n-th element computed directly by {@link Progression} rather than
+ * by walking and memoizing cells, e.g. arithmetic progression or {@link Tabulation}. {@link #get(int)}, {@link #drop(long)},
+ * {@link #take(long)} and {@link #slice(long, long)} are <i>O(1)</i>, as well as {@link #size()} of bounded sequences.
+ * For arithmetic progressions {@link #contains(Object)} and {@link #indexOf(Object)} are <i>O(1)</i> as well.
+ * Bounded sequences split in halves for parallel processing.
+ * <p/>
+ * Nothing is memoized, but {@link #toString()} still prints only the prefix reached so far,
+ * like it does for other lazy sequences. {@link #indexOf(Object)} returns <code>-1</code> also when
+ * the element occurs at position beyond <code>int</code> range.
+ */
+final class RangeSeq<E> extends LazySeq<E> {
+
+	/**
+	 * Marks infinite progression in place of exclusive end position.
+	 */
+	private static final long INFINITE = -1;
+
+	private final Progression<E> progression;
+	private final long index;
+	private final long end;
+
+	/**
+	 * Keeps elements memoized by <code>progression</code> from <code>index</code> onwards reachable.
+	 */
+	@SuppressWarnings("unused")
+	private final Object anchor;
+
+	private RangeSeq(Progression<E> progression, long index, long end) {
+		this.progression = progression;
+		this.index = index;
+		this.end = end;
+		this.anchor = progression.anchor(index);
+	}
+
+	static <E> LazySeq<E> over(Progression<E> progression) {
+		return new RangeSeq<>(progression, 0, INFINITE);
+	}
+
+	static LazySeq<Integer> ints(int start, int step) {
+		return new RangeSeq<>(new IntProgression(start, step), 0, INFINITE);
+	}
+
+	static LazySeq<Double> doubles(double start, double step) {
+		return new RangeSeq<>(new DoubleProgression(start, step), 0, INFINITE);
+	}
+
+	static LazySeq<Long> longs(long from, long to, long step) {
+		if (step == 0 || step == Long.MIN_VALUE) {
+			throw new IllegalArgumentException(Long.toString(step));
+		}
+		final long size = step > 0 ?
+				(from < to ? Long.divideUnsigned(to - from - 1, step) + 1 : 0) :
+				(from > to ? Long.divideUnsigned(from - to - 1, -step) + 1 : 0);
+		if (size == 0) {
+			return empty();
+		}
+		if (size < 0) {
+			throw new IllegalArgumentException("More than " + Long.MAX_VALUE + " elements between " + from + " and " + to + " with step " + step);
+		}
+		return new RangeSeq<>(new LongProgression(from, step), 0, size);
+	}
+
+	private boolean isBounded() {
+		return end != INFINITE;
+	}
+
+	private long remaining() {
+		return end - index;
+	}
+
+	@Override
+	public E head() {
+		return progression.element(index);
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		if (index + 1 == end) {
+			return empty();
+		}
+		progression.reached(index + 1);
+		return new RangeSeq<>(progression, index + 1, end);
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return index + 1 == end || index < progression.observed;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0 || (isBounded() && index >= remaining())) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		progression.reached(this.index + index);
+		return progression.element(this.index + index);
+	}
+
+	/**
+	 * Bounded sequences longer than {@link Integer#MAX_VALUE} report {@link Integer#MAX_VALUE}, like {@link java.util.Collection#size()}
+	 * does, see {@link #knownSize()} for exact count. Infinite ones never return, just like other infinite sequences.
+	 */
+	@Override
+	public int size() {
+		if (!isBounded()) {
+			return super.size();
+		}
+		return (int) Math.min(remaining(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	long knownSize() {
+		return isBounded() ? remaining() : -1;
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (isBounded() && maxSize >= remaining()) {
+			return this;
+		}
+		if (index + maxSize < 0) {
+			return this;
+		}
+		return new RangeSeq<>(progression, index, index + maxSize);
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		if (startInclusive == 0) {
+			return this;
+		}
+		if (isBounded() && startInclusive >= remaining()) {
+			return empty();
+		}
+		progression.reached(index + startInclusive);
+		return new RangeSeq<>(progression, index + startInclusive, end);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!progression.isSearchable()) {
+			return super.contains(o);
+		}
+		return find(o) >= 0;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (!progression.isSearchable()) {
+			return super.indexOf(o);
+		}
+		final long found = find(o);
+		return found >= 0 && found <= Integer.MAX_VALUE ? (int) found : -1;
+	}
+
+	/**
+	 * @return position of <code>o</code> relative to this cell or <code>-1</code>
+	 */
+	private long find(Object o) {
+		final long found = progression.indexOf(o, index);
+		if (found < 0 || (isBounded() && found >= end)) {
+			return -1;
+		}
+		return found - index;
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return Pipeline.<E, R>map(this, mapper).seq();
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head()).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		for (long i = index; i != end; ++i) {
+			action.accept(progression.element(i));
+		}
+		progression.reached(end - 1);
+	}
+
+	@Override
+	public LazySeq<E> force() {
+		if (isBounded()) {
+			progression.evaluate(index, end);
+			progression.reached(end - 1);
+			return this;
+		}
+		return super.force();
+	}
+
+	@Override
+	public LazySeq<E> parallelForce(ForkJoinPool pool) {
+		Objects.requireNonNull(pool);
+		if (isBounded()) {
+			progression.evaluate(index, end, pool);
+			progression.reached(end - 1);
+			return this;
+		}
+		return super.parallelForce(pool);
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		if (isBounded()) {
+			return new RangeSpliterator<>(progression, index, end);
+		}
+		return super.spliterator();
+	}
+
+	/**
+	 * Formula of n-th element, shared by all views over the same progression.
+	 */
+	static abstract class Progression<E> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicLongFieldUpdater<Progression> OBSERVED =
+				AtomicLongFieldUpdater.newUpdater(Progression.class, "observed");
+
+		/**
+		 * Highest position reached so far, only used by {@link RangeSeq#isTailDefined()}
+		 */
+		volatile long observed;
+
+		abstract E element(long n);
+
+		/**
+		 * @return first position not lower than <code>fromIndex</code> where <code>o</code> occurs, <code>-1</code> if none.
+		 * Only called when {@link #isSearchable()}
+		 */
+		long indexOf(Object o, long fromIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @return whether {@link #indexOf(Object, long)} can find elements without enumerating them
+		 */
+		boolean isSearchable() {
+			return true;
+		}
+
+		/**
+		 * Called by {@link RangeSeq#force()}, progressions that memoize should evaluate <code>[from, to)</code> range, in order.
+		 */
+		void evaluate(long from, long to) {
+		}
+
+		/**
+		 * Called by {@link RangeSeq#parallelForce(ForkJoinPool)}, like {@link #evaluate(long, long)} but may run on <code>pool</code>.
+		 */
+		void evaluate(long from, long to, ForkJoinPool pool) {
+			evaluate(from, to);
+		}
+
+		/**
+		 * @return object that views starting at <code>position</code> keep reachable, so that elements memoized
+		 * from that position onwards are retained as long as such view is, <code>null</code> if nothing is memoized
+		 */
+		Object anchor(long position) {
+			return null;
+		}
+
+		void reached(long position) {
+			long cur = observed;
+			while (position > cur && !OBSERVED.compareAndSet(this, cur, position)) {
+				cur = observed;
+			}
+		}
+
+	}
+
+	/**
+	 * Wraps around on <code>int</code> overflow, just like repeated addition would, so it is periodic.
+	 */
+	private static final class IntProgression extends Progression<Integer> {
+
+		private static final long MASK = 0xFFFFFFFFL;
+
+		private final int start;
+		private final int step;
+
+		IntProgression(int start, int step) {
+			this.start = start;
+			this.step = step;
+		}
+
+		@Override
+		Integer element(long n) {
+			return (int) (start + n * step);
+		}
+
+		@Override
+		long indexOf(Object o, long fromIndex) {
+			if (!(o instanceof Integer)) {
+				return -1;
+			}
+			final long distance = ((Integer) o - start) & MASK;
+			final long modularStep = step & MASK;
+			if (modularStep == 0) {
+				return distance == 0 ? fromIndex : -1;
+			}
+			final int zeros = Long.numberOfTrailingZeros(modularStep);
+			if ((distance & ((1L << zeros) - 1)) != 0) {
+				return -1;
+			}
+			final long period = 1L << (32 - zeros);
+			final long first = ((distance >>> zeros) * inverse(modularStep >>> zeros)) & (period - 1);
+			if (first >= fromIndex) {
+				return first;
+			}
+			return first + ((fromIndex - first + period - 1) / period) * period;
+		}
+
+		/**
+		 * Multiplicative inverse of odd number modulo <code>2^64</code> (Newton's iteration).
+		 */
+		private static long inverse(long odd) {
+			long x = odd;
+			for (int i = 0; i < 5; ++i) {
+				x *= 2 - odd * x;
+			}
+			return x;
+		}
+
+	}
+
+	private static final class LongProgression extends Progression<Long> {
+
+		private final long start;
+		private final long step;
+
+		LongProgression(long start, long step) {
+			this.start = start;
+			this.step = step;
+		}
+
+		@Override
+		Long element(long n) {
+			return start + n * step;
+		}
+
+		@Override
+		long indexOf(Object o, long fromIndex) {
+			if (!(o instanceof Long)) {
+				return -1;
+			}
+			final long value = (Long) o;
+			if (step > 0 ? value < start : value > start) {
+				return -1;
+			}
+			//unsigned, may exceed Long.MAX_VALUE
+			final long distance = step > 0 ? value - start : start - value;
+			final long stride = Math.abs(step);
+			if (Long.remainderUnsigned(distance, stride) != 0) {
+				return -1;
+			}
+			final long found = Long.divideUnsigned(distance, stride);
+			return found >= fromIndex ? found : -1;
+		}
+
+	}
+
+	/**
+	 * Computes <code>start + n * step</code> directly, thus rounding errors don't accumulate like with repeated addition.
+	 */
+	private static final class DoubleProgression extends Progression<Double> {
+
+		private final double start;
+		private final double step;
+
+		DoubleProgression(double start, double step) {
+			this.start = start;
+			this.step = step;
+		}
+
+		@Override
+		Double element(long n) {
+			return start + n * step;
+		}
+
+		@Override
+		long indexOf(Object o, long fromIndex) {
+			if (!(o instanceof Double)) {
+				return -1;
+			}
+			if (step == 0) {
+				return o.equals(start) ? fromIndex : -1;
+			}
+			final double estimate = ((Double) o - start) / step;
+			if (!(estimate >= 0) || estimate >= Long.MAX_VALUE) {
+				return -1;
+			}
+			final long rounded = Math.round(estimate);
+			for (long n = Math.max(rounded - 1, fromIndex); n <= rounded + 1; ++n) {
+				if (element(n).equals(o)) {
+					return n;
+				}
+			}
+			return -1;
+		}
+
+	}
+
+	/**
+	 * Splits bounded progression in halves, in <i>O(1)</i>.
+	 */
+	private static final class RangeSpliterator<E> implements Spliterator<E> {
+
+		private final Progression<E> progression;
+		private long from;
+		private final long to;
+
+		/**
+		 * See {@link Progression#anchor(long)}, moves along with <code>from</code>.
+		 */
+		@SuppressWarnings("unused")
+		private Object anchor;
+
+		RangeSpliterator(Progression<E> progression, long from, long to) {
+			this.progression = progression;
+			this.from = from;
+			this.to = to;
+			this.anchor = progression.anchor(from);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (from >= to) {
+				return false;
+			}
+			anchor = progression.anchor(from);
+			action.accept(progression.element(from++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			for (; from < to; ++from) {
+				anchor = progression.anchor(from);
+				action.accept(progression.element(from));
+			}
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			final long mid = from + (to - from) / 2;
+			if (mid == from) {
+				return null;
+			}
+			final Spliterator<E> prefix = new RangeSpliterator<>(progression, from, mid);
+			from = mid;
+			anchor = progression.anchor(mid);
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return to - from;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} emitting elements of a sequence, see {@link LazySeq#toPublisher(Executor)}.
+ * Every subscriber traverses the sequence from the beginning with its own cursor, evaluating tails
+ * on <code>executor</code> only as far as requested.
+ */
+final class SeqPublisher<E> implements Flow.Publisher<E> {
+
+	private final LazySeq<E> seq;
+	private final Executor executor;
+
+	SeqPublisher(LazySeq<E> seq, Executor executor) {
+		this.seq = seq;
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super E> subscriber) {
+		final SeqSubscription<E> subscription = new SeqSubscription<>(seq, subscriber, executor);
+		subscriber.onSubscribe(subscription);
+	}
+
+	/**
+	 * Outstanding demand is accumulated in <code>requested</code>, a single drain task at a time
+	 * (guarded by <code>wip</code>) emits elements until demand is satisfied or the sequence ends.
+	 * Tail of the last emitted element is evaluated only once more is requested. Invalid request is signalled
+	 * from the drain task as well, so that signals never overlap.
+	 */
+	private static final class SeqSubscription<E> implements Flow.Subscription, Runnable {
+
+		private final Flow.Subscriber<? super E> subscriber;
+		private final Executor executor;
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+		private volatile boolean done;
+		private volatile IllegalArgumentException invalidRequest;
+		private LazySeq<E> cursor;
+		private boolean emitted;
+
+		SeqSubscription(LazySeq<E> seq, Flow.Subscriber<? super E> subscriber, Executor executor) {
+			this.cursor = seq;
+			this.subscriber = subscriber;
+			this.executor = executor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				if (invalidRequest == null) {
+					invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+				}
+				schedule();
+				return;
+			}
+			requested.accumulateAndGet(n, (current, more) -> current + more < 0 ? Long.MAX_VALUE : current + more);
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			done = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (wip.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void drain() {
+			if (!done && invalidRequest != null) {
+				done = true;
+				subscriber.onError(invalidRequest);
+			}
+			try {
+				while (!done && requested.get() > 0) {
+					if (emitted) {
+						cursor = cursor.tail();
+						emitted = false;
+					}
+					if (cursor.isEmpty()) {
+						complete();
+						break;
+					}
+					final E head = cursor.head();
+					emitted = true;
+					requested.decrementAndGet();
+					subscriber.onNext(head);
+				}
+				if (!done && emitted && cursor.isTailDefined() && cursor.tail().isEmpty()) {
+					complete();
+				}
+			} catch (RuntimeException | Error e) {
+				if (!done) {
+					done = true;
+					subscriber.onError(e);
+				}
+			}
+			if (done) {
+				cursor = LazySeq.empty();
+			}
+		}
+
+		private void complete() {
+			done = true;
+			subscriber.onComplete();
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * View over underlying sequence that remembers every <code>interval</code>-th cell reached while traversing it.
+ * {@link #get(int)}, {@link #drop(long)} and {@link #slice(long, long)} start from the closest remembered cell,
+ * so repeated random access into already evaluated prefix walks at most <code>interval</code> cells.
+ * Tails and dropped sequences share the same index.
+ *
+ * @see LazySeq#withSkipIndex(int)
+ */
+final class SkipIndexedSeq<E> extends LazySeq<E> {
+
+	private final Index<E> index;
+	private final long position;
+	private final LazySeq<E> cell;
+
+	SkipIndexedSeq(LazySeq<E> underlying, int interval) {
+		this(new Index<>(underlying, interval), 0, underlying);
+	}
+
+	private SkipIndexedSeq(Index<E> index, long position, LazySeq<E> cell) {
+		this.index = index;
+		this.position = position;
+		this.cell = cell;
+	}
+
+	@Override
+	public E head() {
+		return cell.head();
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		final LazySeq<E> tail = cell.tail();
+		index.reached(position + 1, tail);
+		return new SkipIndexedSeq<>(index, position + 1, tail);
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return cell.isTailDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return cell.isEmpty();
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		final LazySeq<E> target = this.index.cellAt(position + index);
+		if (target.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return target.head();
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		final LazySeq<E> target = index.cellAt(position + startInclusive);
+		if (target.isEmpty()) {
+			return target;
+		}
+		return new SkipIndexedSeq<>(index, position + startInclusive, target);
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return cell.map(mapper);
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return cell.filter(predicate);
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return cell.flatMap(mapper);
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		return cell.takeUnsafe(maxSize);
+	}
+
+	/**
+	 * Walks underlying cells directly, recording checkpoints passed on the way.
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		long pos = position;
+		LazySeq<E> cur = cell;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+			index.reached(++pos, cur);
+		}
+	}
+
+	/**
+	 * Like {@link #forEach(Consumer)}, records checkpoints passed by the returned iterator.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private long pos = position;
+			private LazySeq<E> cur = cell;
+
+			@Override
+			public boolean hasNext() {
+				return !cur.isEmpty();
+			}
+
+			@Override
+			public E next() {
+				if (cur.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				final E next = cur.head();
+				cur = cur.tail();
+				index.reached(++pos, cur);
+				return next;
+			}
+		};
+	}
+
+	/**
+	 * Cells at positions <code>0</code>, <code>interval</code>, <code>2 * interval</code>... of underlying sequence,
+	 * shared by all views. Recorded strictly in order, so the first <code>count</code> entries are always present.
+	 * Lock-free: a slot is written before <code>count</code> moves past it and the array is replaced by a bigger copy
+	 * only once all its slots are counted, so racing writers can at worst store the same position twice.
+	 */
+	private static final class Index<E> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Index, AtomicReferenceArray> CHECKPOINTS =
+				AtomicReferenceFieldUpdater.newUpdater(Index.class, AtomicReferenceArray.class, "checkpoints");
+
+		private final int interval;
+		private volatile AtomicReferenceArray<LazySeq<E>> checkpoints = new AtomicReferenceArray<>(16);
+		private final AtomicInteger count = new AtomicInteger();
+
+		Index(LazySeq<E> root, int interval) {
+			this.interval = interval;
+			record(0, root);
+		}
+
+		LazySeq<E> cellAt(long position) {
+			final int known = count.get();
+			final AtomicReferenceArray<LazySeq<E>> snapshot = checkpoints;
+			final long slot = Math.min(position / interval, known - 1);
+			LazySeq<E> cur = snapshot.get((int) slot);
+			for (long curPos = slot * interval; curPos < position && !cur.isEmpty(); ) {
+				cur = cur.tail();
+				reached(++curPos, cur);
+			}
+			return cur;
+		}
+
+		void reached(long position, LazySeq<E> cell) {
+			if (position % interval == 0 && position / interval == count.get()) {
+				record((int) (position / interval), cell);
+			}
+		}
+
+		private void record(int slot, LazySeq<E> cell) {
+			if (slot == Integer.MAX_VALUE) {
+				return;
+			}
+			AtomicReferenceArray<LazySeq<E>> current = checkpoints;
+			if (slot == current.length()) {
+				current = grow(current);
+			}
+			if (slot < current.length() && count.get() == slot) {
+				current.set(slot, cell);
+				count.compareAndSet(slot, slot + 1);
+			}
+		}
+
+		/**
+		 * Called when all slots of <code>full</code> are counted, copies them into array twice as big.
+		 */
+		@SuppressWarnings("unchecked")
+		private AtomicReferenceArray<LazySeq<E>> grow(AtomicReferenceArray<LazySeq<E>> full) {
+			final AtomicReferenceArray<LazySeq<E>> bigger = new AtomicReferenceArray<>(full.length() * 2);
+			for (int i = 0; i < full.length(); ++i) {
+				bigger.set(i, full.get(i));
+			}
+			return CHECKPOINTS.compareAndSet(this, full, bigger) ? bigger : checkpoints;
+		}
+
+	}
+
+}
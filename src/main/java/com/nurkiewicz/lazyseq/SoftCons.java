@@ -0,0 +1,100 @@
+package com.nurkiewicz.lazyseq;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cell memoizing its tail through {@link SoftReference}, see {@link Memoization#SOFT}.
+ * Unlike {@link Cons}, tail supplier is retained forever in order to recompute the tail once evicted.
+ */
+class SoftCons<E> extends LazySeq<E> {
+
+	private final E head;
+	private final Supplier<LazySeq<E>> tailFun;
+	private volatile SoftReference<LazySeq<E>> tail;
+
+	SoftCons(E head, Supplier<LazySeq<E>> tailFun) {
+		this.head = Objects.requireNonNull(head);
+		this.tailFun = Objects.requireNonNull(tailFun);
+	}
+
+	@Override
+	public E head() {
+		return head;
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		final SoftReference<LazySeq<E>> ref = tail;
+		if (ref != null) {
+			final LazySeq<E> memoized = ref.get();
+			if (memoized != null) {
+				return memoized;
+			}
+			Memoization.recomputed();
+		}
+		final LazySeq<E> computed = tailFun.get();
+		tail = Memoization.softly(computed);
+		return computed;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		final SoftReference<LazySeq<E>> ref = tail;
+		return ref != null && ref.get() != null;
+	}
+
+	/**
+	 * Simulates garbage collector clearing memoized tail.
+	 */
+	void evictTail() {
+		final SoftReference<LazySeq<E>> ref = tail;
+		if (ref != null) {
+			ref.clear();
+			ref.enqueue();
+		}
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return Pipeline.<E, R>map(this, mapper).seq();
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize > 1) {
+			return cons(head, () -> tail().takeUnsafe(maxSize - 1));
+		} else {
+			return LazySeq.of(head);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.nurkiewicz.lazyseq;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * Elements of {@link LazySeq#tabulate(int, Function)}: <code>generator(start + n)</code> evaluated on first access
+ * to n-th position, in any order, exactly once. Results are memoized sparsely, in pages allocated only when
+ * some position within them is accessed.
+ * <p/>
+ * With {@link Memoization#STRONG} pages are retained just like cells of ordinary sequences: every {@link RangeSeq}
+ * view keeps the page of its first position reachable ({@link #anchor(long)}) and each page keeps the next allocated one.
+ * Pages before the first position of any reachable view are only weakly referenced and get collected
+ * during traversal. With {@link Memoization#SOFT} pages can be evicted at any time and their elements recomputed.
+ */
+final class Tabulation<E> extends RangeSeq.Progression<E> {
+
+	private static final int PAGE_BITS = 10;
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	private final int start;
+	private final Function<Integer, E> generator;
+	private final Memoization memoization;
+
+	/**
+	 * {@link WeakReference}s to pages or, with {@link Memoization#SOFT}, {@link SoftReference}s.
+	 */
+	private final ConcurrentNavigableMap<Long, Reference<Page>> pages = new ConcurrentSkipListMap<>();
+	private final ReferenceQueue<Page> collected = new ReferenceQueue<>();
+
+	/**
+	 * Guards allocation of pages and linking them, lookups are lock-free.
+	 */
+	private final ReentrantLock allocation = new ReentrantLock();
+
+	Tabulation(int start, Function<Integer, E> generator, Memoization memoization) {
+		this.start = start;
+		this.generator = Objects.requireNonNull(generator);
+		this.memoization = Objects.requireNonNull(memoization);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	E element(long n) {
+		final Page page = page(n >>> PAGE_BITS);
+		final int slot = (int) (n & (PAGE_SIZE - 1));
+		final Object memoized = page.get(slot);
+		if (TailMemo.isEvaluated(memoized)) {
+			return (E) memoized;
+		}
+		return TailMemo.evaluate(page, slot, () -> Objects.requireNonNull(generator.apply((int) (start + n))));
+	}
+
+	@Override
+	Object anchor(long position) {
+		return memoization == Memoization.STRONG ? page(position >>> PAGE_BITS) : null;
+	}
+
+	private Page page(long number) {
+		final Reference<Page> entry = pages.get(number);
+		final Page page = entry != null ? entry.get() : null;
+		return page != null ? page : allocate(number);
+	}
+
+	private Page allocate(long number) {
+		allocation.lock();
+		try {
+			expungeCollected();
+			final Reference<Page> entry = pages.get(number);
+			final Page existing = entry != null ? entry.get() : null;
+			if (existing != null) {
+				return existing;
+			}
+			final Page fresh = new Page();
+			if (memoization == Memoization.SOFT) {
+				if (entry != null) {
+					Memoization.recomputed();
+				}
+				pages.put(number, Memoization.softly(fresh));
+			} else {
+				link(number, fresh);
+				pages.put(number, new PageReference(number, fresh, collected));
+			}
+			return fresh;
+		} finally {
+			allocation.unlock();
+		}
+	}
+
+	/**
+	 * Inserts <code>fresh</code> page into the chain of live pages ordered by number,
+	 * so that it is reachable from pages before it and keeps pages after it reachable.
+	 */
+	private void link(long number, Page fresh) {
+		for (Reference<Page> higher : pages.tailMap(number, false).values()) {
+			final Page page = higher.get();
+			if (page != null) {
+				fresh.next = page;
+				break;
+			}
+		}
+		final Map.Entry<Long, Reference<Page>> lower = pages.lowerEntry(number);
+		final Page previous = lower != null ? lower.getValue().get() : null;
+		if (previous != null) {
+			previous.next = fresh;
+		}
+	}
+
+	private void expungeCollected() {
+		PageReference cleared;
+		while ((cleared = (PageReference) collected.poll()) != null) {
+			pages.remove(cleared.number, cleared);
+		}
+	}
+
+	/**
+	 * Simulates garbage collector clearing page containing n-th element.
+	 */
+	void evictPageOf(long n) {
+		final Reference<Page> entry = pages.get(n >>> PAGE_BITS);
+		if (entry instanceof SoftReference) {
+			entry.clear();
+			entry.enqueue();
+		}
+	}
+
+	@Override
+	boolean isSearchable() {
+		return false;
+	}
+
+	@Override
+	void evaluate(long from, long to) {
+		for (long n = from; n < to; ++n) {
+			element(n);
+		}
+	}
+
+	@Override
+	void evaluate(long from, long to, ForkJoinPool pool) {
+		pool.invoke(ForkJoinTask.adapt(() -> LongStream.range(from, to).parallel().forEach(this::element)));
+	}
+
+	private static final class Page extends AtomicReferenceArray<Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Next allocated page, kept reachable as long as this one is.
+		 */
+		volatile Page next;
+
+		Page() {
+			super(PAGE_SIZE);
+		}
+
+	}
+
+	private static final class PageReference extends WeakReference<Page> {
+
+		final long number;
+
+		PageReference(long number, Page page, ReferenceQueue<Page> queue) {
+			super(page, queue);
+			this.number = number;
+		}
+
+	}
+
+}
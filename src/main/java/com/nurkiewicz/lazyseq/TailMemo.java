@@ -0,0 +1,156 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free, exactly-once evaluation of a lazy tail stored in a <code>volatile Object</code> field.
+ * The field holds the tail {@link Supplier} until evaluation starts, then an {@link InProgress} marker
+ * installed with CAS by the evaluating thread and finally the evaluated value, typically {@link LazySeq}.
+ * No monitor is held while the supplier runs, concurrent callers park on the marker until the result is published.
+ * Uncontended evaluation allocates only the marker, the latch callers park on is created by the first of them.
+ * Once published, nothing references the supplier anymore so the state it captured can be garbage collected.
+ * If the supplier throws, it is put back so that the next caller retries, just like the first one.
+ */
+final class TailMemo {
+
+	private TailMemo() {
+	}
+
+	static boolean isDefined(Object tailOrSupplier) {
+		return !(tailOrSupplier instanceof Supplier) && !(tailOrSupplier instanceof InProgress);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T, V> V evaluate(AtomicReferenceFieldUpdater<T, Object> updater, T cell) {
+		while (true) {
+			final Object current = updater.get(cell);
+			if (isDefined(current)) {
+				return (V) current;
+			}
+			if (current instanceof InProgress) {
+				final InProgress marker = (InProgress) current;
+				if (marker.owner == Thread.currentThread()) {
+					return (V) marker.tailFun.get();
+				}
+				marker.awaitUninterruptibly();
+			} else {
+				final InProgress marker = new InProgress((Supplier<?>) current);
+				if (updater.compareAndSet(cell, current, marker)) {
+					return evaluateAndPublish(updater, cell, marker);
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T, V> V evaluateAndPublish(AtomicReferenceFieldUpdater<T, Object> updater, T cell, InProgress marker) {
+		try {
+			final V tail = (V) marker.tailFun.get();
+			updater.set(cell, tail != null ? tail : marker.tailFun);
+			return tail;
+		} catch (RuntimeException | Error e) {
+			updater.set(cell, marker.tailFun);
+			throw e;
+		} finally {
+			marker.complete();
+		}
+	}
+
+	static boolean isEvaluated(Object slot) {
+		return slot != null && !(slot instanceof InProgress);
+	}
+
+	/**
+	 * Same protocol for a slot of an array, where <code>null</code> means not yet evaluated.
+	 * Unlike field variant, <code>fun</code> is supplied by the caller rather than stored in the slot.
+	 */
+	@SuppressWarnings("unchecked")
+	static <V> V evaluate(AtomicReferenceArray<Object> slots, int i, Supplier<V> fun) {
+		while (true) {
+			final Object current = slots.get(i);
+			if (isEvaluated(current)) {
+				return (V) current;
+			}
+			if (current instanceof InProgress) {
+				final InProgress marker = (InProgress) current;
+				if (marker.owner == Thread.currentThread()) {
+					return fun.get();
+				}
+				marker.awaitUninterruptibly();
+			} else {
+				final InProgress marker = new InProgress(fun);
+				if (slots.compareAndSet(i, null, marker)) {
+					try {
+						final V value = fun.get();
+						slots.set(i, value);
+						return value;
+					} catch (RuntimeException | Error e) {
+						slots.set(i, null);
+						throw e;
+					} finally {
+						marker.complete();
+					}
+				}
+			}
+		}
+	}
+
+	private static final class InProgress {
+
+		private static final AtomicReferenceFieldUpdater<InProgress, CountDownLatch> LATCH =
+				AtomicReferenceFieldUpdater.newUpdater(InProgress.class, CountDownLatch.class, "latch");
+
+		private final Supplier<?> tailFun;
+		private final Thread owner = Thread.currentThread();
+		private volatile boolean done;
+
+		/**
+		 * Created by the first waiting thread, <code>null</code> as long as nobody waits.
+		 */
+		private volatile CountDownLatch latch;
+
+		InProgress(Supplier<?> tailFun) {
+			this.tailFun = tailFun;
+		}
+
+		/**
+		 * Called by the evaluating thread once the slot no longer holds this marker.
+		 * Writes <code>done</code> before reading <code>latch</code>, while waiters do the opposite,
+		 * so either the evaluating thread sees the latch or the waiter sees <code>done</code>.
+		 */
+		void complete() {
+			done = true;
+			final CountDownLatch waiting = latch;
+			if (waiting != null) {
+				waiting.countDown();
+			}
+		}
+
+		void awaitUninterruptibly() {
+			if (done) {
+				return;
+			}
+			CountDownLatch waiting = latch;
+			if (waiting == null) {
+				LATCH.compareAndSet(this, null, new CountDownLatch(1));
+				waiting = latch;
+			}
+			boolean interrupted = false;
+			while (!done) {
+				try {
+					waiting.await();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cell of infinite sequence retaining only the last <code>size</code> evaluated elements,
+ * see {@link LazySeq#continually(Supplier, int)}. Whenever new element is evaluated, the cell that
+ * fell out of the window forgets its head and tail, so even if someone still references it,
+ * the history of the stream can be garbage collected. Accessing such cell throws {@link IllegalStateException}.
+ */
+final class WindowedCons<E> extends LazySeq<E> {
+
+	private final Window<E> window;
+	private final long position;
+	private volatile E head;
+	private volatile WindowedCons<E> next;
+	private volatile boolean expired;
+
+	private WindowedCons(Window<E> window, long position, E head) {
+		this.window = window;
+		this.position = position;
+		this.head = Objects.requireNonNull(head);
+	}
+
+	static <E> LazySeq<E> generate(Supplier<E> generator, int size) {
+		final Window<E> window = new Window<>(generator, size);
+		return window.first();
+	}
+
+	@Override
+	public E head() {
+		final E h = head;
+		if (h == null) {
+			throw window.expired(position);
+		}
+		return h;
+	}
+
+	@Override
+	public LazySeq<E> tail() {
+		final WindowedCons<E> n = next;
+		if (n != null) {
+			return n;
+		}
+		return window.next(this);
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return next != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	private void expire() {
+		expired = true;
+		head = null;
+		next = null;
+	}
+
+	@Override
+	public <R> LazySeq<R> map(Function<? super E, ? extends R> mapper) {
+		return Pipeline.<E, R>map(this, mapper).seq();
+	}
+
+	@Override
+	public LazySeq<E> filter(Predicate<? super E> predicate) {
+		return Pipeline.filter(this, predicate).seq();
+	}
+
+	@Override
+	public LazySeq<E> takeWhile(Predicate<? super E> predicate) {
+		return Pipeline.takeWhile(this, predicate).seq();
+	}
+
+	@Override
+	public <R> LazySeq<R> flatMap(Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return new DeferredSeq<>(() -> {
+			final ArrayList<R> result = new ArrayList<>();
+			mapper.apply(head()).forEach(result::add);
+			return concat(result, () -> tail().flatMap(mapper));
+		});
+	}
+
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize > 1) {
+			final E h = head();
+			return cons(h, () -> tail().takeUnsafe(maxSize - 1));
+		} else {
+			return LazySeq.of(head());
+		}
+	}
+
+	/**
+	 * Ring of the most recently evaluated cells, shared by all cells of one sequence.
+	 * Generator is invoked under {@link ReentrantLock} rather than a monitor, so that waiting for a slow generator
+	 * doesn't pin virtual threads to their carriers.
+	 */
+	private static final class Window<E> {
+
+		private final Supplier<E> generator;
+		private final WindowedCons<?>[] ring;
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile long furthest;
+
+		Window(Supplier<E> generator, int size) {
+			this.generator = Objects.requireNonNull(generator);
+			this.ring = new WindowedCons<?>[size];
+		}
+
+		WindowedCons<E> first() {
+			lock.lock();
+			try {
+				return append(0);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		WindowedCons<E> next(WindowedCons<E> cell) {
+			lock.lock();
+			try {
+				if (cell.expired) {
+					throw expired(cell.position);
+				}
+				if (cell.next == null) {
+					cell.next = append(cell.position + 1);
+				}
+				return cell.next;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private WindowedCons<E> append(long position) {
+			final WindowedCons<E> cell = new WindowedCons<>(this, position, generator.get());
+			final int slot = (int) (position % ring.length);
+			final WindowedCons<?> evicted = ring[slot];
+			if (evicted != null) {
+				evicted.expire();
+			}
+			ring[slot] = cell;
+			furthest = position;
+			return cell;
+		}
+
+		IllegalStateException expired(long position) {
+			return new IllegalStateException("Element at position " + position + " is no longer available, only last " +
+					ring.length + " elements are retained and the furthest evaluated is at position " + furthest);
+		}
+
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.nurkiewicz.lazyseq;
+
+/**
+ * Passed to the producer of {@link LazySeq#generate(java.util.function.Consumer)}, emits subsequent elements.
+ * Each call suspends the producer until the consumer asks for the element after the yielded one.
+ */
+@FunctionalInterface
+public interface Yielder<E> {
+
+	void yield(E element);
+
+}
@@ -0,0 +1,233 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class AsyncLazySeqTest extends AbstractBaseTestCase {
+
+	private static final int PAGE_SIZE = 5;
+
+	private ExecutorService executor;
+	private final List<String> loadedPages = new ArrayList<>();
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "pager"));
+		loadedPages.clear();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldNotLoadAnythingUntilRequested() throws Exception {
+		//when
+		final AsyncLazySeq<Integer> records = records(0, 20);
+
+		//then
+		assertThat(loadedPages).isEmpty();
+		assertThat(records.toString()).isEqualTo("[?]");
+	}
+
+	@Test
+	public void shouldLoadFirstPageOnExecutor() throws Exception {
+		//given
+		final AsyncLazySeq<Integer> records = records(0, 20);
+
+		//when
+		final Integer head = records.headAsync().get(1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(head).isEqualTo(0);
+		assertThat(loadedPages).containsExactly("0,5 on pager");
+		assertThat(records.toString()).isEqualTo("[0, 1, 2, 3, 4, ?]");
+	}
+
+	@Test
+	public void shouldLoadSubsequentPageOnlyWhenTailRequested() throws Exception {
+		//given
+		final AsyncLazySeq<Integer> records = records(0, 20);
+		AsyncLazySeq<Integer> cur = records;
+
+		//when
+		for (int i = 0; i < PAGE_SIZE - 1; ++i) {
+			cur = cur.tailAsync().get(1, TimeUnit.SECONDS);
+		}
+
+		//then
+		assertThat(loadedPages).containsExactly("0,5 on pager");
+		assertThat(cur.tailAsync().get(1, TimeUnit.SECONDS).headAsync().get(1, TimeUnit.SECONDS)).isEqualTo(PAGE_SIZE);
+		assertThat(loadedPages).containsExactly("0,5 on pager", "5,5 on pager");
+	}
+
+	@Test
+	public void shouldFoldAllPages() throws Exception {
+		//when
+		final int sum = records(0, 23).foldAsync(0, (acc, x) -> acc + x).get(1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(sum).isEqualTo(22 * 23 / 2);
+		assertThat(loadedPages).hasSize(5);
+	}
+
+	@Test
+	public void shouldNotBlockCallerWhileWaitingForPage() throws Exception {
+		//given
+		final CountDownLatch pageReady = new CountDownLatch(1);
+		final AsyncLazySeq<Integer> seq = AsyncLazySeq.concat(LazySeq.of(1, 2, 3), () -> {
+			awaitUninterruptibly(pageReady);
+			return AsyncLazySeq.of(4, 5);
+		}, executor);
+		final List<Integer> visited = new ArrayList<>();
+
+		//when
+		final CompletableFuture<Void> done = seq.forEachAsync(visited::add);
+
+		//then
+		assertThat(done.isDone()).isFalse();
+		assertThat(visited).containsExactly(1, 2, 3);
+		pageReady.countDown();
+		done.get(1, TimeUnit.SECONDS);
+		assertThat(visited).containsExactly(1, 2, 3, 4, 5);
+	}
+
+	@Test
+	public void shouldFailHeadOfEmptySeq() throws Exception {
+		//given
+		final AsyncLazySeq<Integer> seq = AsyncLazySeq.defer(AsyncLazySeq::empty, executor);
+
+		//when
+		final CompletableFuture<Integer> head = seq.headAsync();
+
+		//then
+		assertThat(seq.isEmptyAsync().get(1, TimeUnit.SECONDS)).isTrue();
+		try {
+			head.join();
+			failBecauseExceptionWasNotThrown(CompletionException.class);
+		} catch (CompletionException e) {
+			assertThat(e.getCause()).isInstanceOf(NoSuchElementException.class);
+		}
+	}
+
+	@Test
+	public void shouldInvokeTailSupplierExactlyOnceWhenRequestedConcurrently() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final AsyncLazySeq<Integer> seq = AsyncLazySeq.cons(1, () -> {
+			invocations.incrementAndGet();
+			return AsyncLazySeq.of(2);
+		}, executor);
+
+		//when
+		final List<CompletableFuture<AsyncLazySeq<Integer>>> tails = new ArrayList<>();
+		for (int i = 0; i < 10; ++i) {
+			tails.add(seq.tailAsync());
+		}
+
+		//then
+		for (CompletableFuture<AsyncLazySeq<Integer>> tail : tails) {
+			assertThat(tail.get(1, TimeUnit.SECONDS).headAsync().get(1, TimeUnit.SECONDS)).isEqualTo(2);
+		}
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldPropagateFailureAndRetryOnNextAccess() throws Exception {
+		//given
+		final AtomicInteger attempts = new AtomicInteger();
+		final AsyncLazySeq<Integer> seq = AsyncLazySeq.cons(1, () -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("Page unavailable");
+			}
+			return AsyncLazySeq.of(2);
+		}, executor);
+
+		//when
+		final CompletableFuture<Void> first = seq.forEachAsync(x -> {});
+
+		//then
+		try {
+			first.get(1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(Exception.class);
+		} catch (Exception e) {
+			assertThat(e).hasRootCauseInstanceOf(IllegalStateException.class);
+		}
+		assertThat(seq.foldAsync(0, (acc, x) -> acc + x).get(1, TimeUnit.SECONDS)).isEqualTo(3);
+		assertThat(attempts.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldSupportAlreadyAsynchronousSuppliers() throws Exception {
+		//given
+		final AsyncLazySeq<Integer> seq = AsyncLazySeq.defer(() -> CompletableFuture.supplyAsync(() -> AsyncLazySeq.of(1, 2, 3), executor));
+
+		//when
+		final CompletableFuture<Integer> sum = seq.foldAsync(0, (acc, x) -> acc + x);
+
+		//then
+		assertThat(sum.get(1, TimeUnit.SECONDS)).isEqualTo(6);
+	}
+
+	@Test
+	public void shouldNotOverflowStackWhenEverythingIsAvailableSynchronously() throws Exception {
+		//given
+		final AsyncLazySeq<Integer> seq = upTo(0, 100_000);
+
+		//when
+		final CompletableFuture<Integer> count = seq.foldAsync(0, (acc, x) -> acc + 1);
+
+		//then
+		assertThat(count.get(1, TimeUnit.SECONDS)).isEqualTo(100_000);
+	}
+
+	private static AsyncLazySeq<Integer> upTo(int from, int to) {
+		if (from == to) {
+			return AsyncLazySeq.empty();
+		}
+		return AsyncLazySeq.cons(from, () -> upTo(from + 1, to), Runnable::run);
+	}
+
+	private AsyncLazySeq<Integer> records(int from, int total) {
+		return AsyncLazySeq.defer(() -> AsyncLazySeq.concat(loadPage(from, Math.min(PAGE_SIZE, total - from)), () -> {
+			if (from + PAGE_SIZE >= total) {
+				return AsyncLazySeq.empty();
+			}
+			return records(from + PAGE_SIZE, total);
+		}, executor), executor);
+	}
+
+	private List<Integer> loadPage(int offset, int max) {
+		synchronized (loadedPages) {
+			loadedPages.add(offset + "," + max + " on " + Thread.currentThread().getName());
+		}
+		return numbers(offset).take(max).toList();
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rough measurement of tail memoization under contention: 1 to 64 threads traverse the same, not yet evaluated
+ * sequence of {@link Cons} cells at once, so that they race to evaluate every tail. Not run by the test suite, start with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.nurkiewicz.lazyseq.ContentionBenchmark
+ * </pre>
+ */
+public class ContentionBenchmark {
+
+	private static final int SIZE = 200_000;
+	private static final int WARMUP = 5;
+	private static final int MEASURED = 5;
+
+	public static void main(String[] args) throws Exception {
+		for (int threads : new int[]{1, 4, 16, 64}) {
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				for (int i = 0; i < WARMUP; ++i) {
+					traverse(executor, threads);
+				}
+				long best = Long.MAX_VALUE;
+				for (int i = 0; i < MEASURED; ++i) {
+					best = Math.min(best, traverse(executor, threads));
+				}
+				System.out.printf("%2d thread(s): %6.1f ns/cell%n", threads, (double) best / SIZE);
+			} finally {
+				executor.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * @return nanoseconds until all threads traversed the whole shared sequence
+	 */
+	private static long traverse(ExecutorService executor, int threads) throws Exception {
+		final LazySeq<Integer> shared = LazySeq.iterate(0, x -> x + 1).take(SIZE);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<Integer>> sums = new ArrayList<>();
+		for (int i = 0; i < threads; ++i) {
+			sums.add(executor.submit(() -> {
+				start.await();
+				return LazySeq.reduce(shared, 0, Integer::sum);
+			}));
+		}
+		final long begin = System.nanoTime();
+		start.countDown();
+		int blackhole = 0;
+		for (Future<Integer> sum : sums) {
+			blackhole += sum.get();
+		}
+		final long elapsed = System.nanoTime() - begin;
+		if (blackhole == 42) {
+			System.out.println();
+		}
+		return elapsed;
+	}
+
+}
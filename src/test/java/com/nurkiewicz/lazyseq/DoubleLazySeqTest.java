@@ -0,0 +1,37 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class DoubleLazySeqTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldGenerateNumbersWithStep() throws Exception {
+		assertThat(DoubleLazySeq.numbers(1.0, 0.5).take(5).toArray()).containsExactly(1.0, 1.5, 2.0, 2.5, 3.0);
+	}
+
+	@Test
+	public void shouldEstimatePiWithoutBoxing() throws Exception {
+		//given
+		final DoubleLazySeq piSeries = DoubleLazySeq.tabulate(0, n -> (1 - (n % 2) * 2) / (2 * n + 1.0));
+
+		//when
+		final double pi = piSeries.take(10_000).sum() * 4;
+
+		//then
+		assertThat(pi).isEqualTo(Math.PI, offset(0.001));
+	}
+
+	@Test
+	public void shouldConvertToAndFromLazySeq() throws Exception {
+		//given
+		final DoubleLazySeq seq = LazySeq.of(1, 2, 3).mapToDouble(x -> x / 2.0);
+
+		//then
+		assertThat(seq.boxed()).isEqualTo(LazySeq.of(0.5, 1.0, 1.5));
+		assertThat(seq.map(x -> x * 2).stream().average().getAsDouble()).isEqualTo(2.0);
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Rough cost of handing elements over from a producer thread: {@link LazySeq#generate(java.util.function.Consumer)}
+ * on a daemon thread and on a pooled one, versus recursive {@link LazySeq#cons(Object, Supplier)} and
+ * {@link LazySeq#iterate(Object, java.util.function.Function)} evaluated in the consumer thread.
+ * Not run by the test suite, start with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.nurkiewicz.lazyseq.GeneratorBenchmark
+ * </pre>
+ */
+public class GeneratorBenchmark {
+
+	private static final int SIZE = 100_000;
+	private static final int WARMUP = 5;
+	private static final int MEASURED = 5;
+
+	public static void main(String[] args) {
+		final ExecutorService pool = Executors.newCachedThreadPool();
+		try {
+			final double cons = measure(() -> LazySeq.reduce(conses(0), 0L, (acc, x) -> acc + x));
+			final double iterate = measure(() -> LazySeq.reduce(LazySeq.iterate(0, x -> x + 1).take(SIZE), 0L, (acc, x) -> acc + x));
+			final double daemon = measure(() -> LazySeq.reduce(LazySeq.generate(GeneratorBenchmark::produce), 0L, (acc, x) -> acc + x));
+			final double pooled = measure(() -> LazySeq.reduce(LazySeq.generate(GeneratorBenchmark::produce, pool), 0L, (acc, x) -> acc + x));
+			System.out.printf("cons %6.1f ns/element, iterate %6.1f ns/element, generate %6.1f ns/element, generate on pool %6.1f ns/element%n",
+					cons, iterate, daemon, pooled);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static LazySeq<Integer> conses(int from) {
+		if (from == SIZE) {
+			return LazySeq.empty();
+		}
+		return LazySeq.cons(from, () -> conses(from + 1));
+	}
+
+	private static void produce(Yielder<Integer> yielder) {
+		for (int i = 0; i < SIZE; ++i) {
+			yielder.yield(i);
+		}
+	}
+
+	private static double measure(Run run) {
+		long blackhole = 0;
+		for (int i = 0; i < WARMUP; ++i) {
+			blackhole += run.go();
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED; ++i) {
+			final long start = System.nanoTime();
+			blackhole += run.go();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		if (blackhole == 42) {
+			System.out.println();
+		}
+		return (double) best / SIZE;
+	}
+
+	@FunctionalInterface
+	private interface Run {
+		long go();
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class IntLazySeqTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldCreateEmptySeq() throws Exception {
+		assertThat(IntLazySeq.empty().isEmpty()).isTrue();
+		assertThat(IntLazySeq.of().isEmpty()).isTrue();
+		assertThat(IntLazySeq.empty().size()).isEqualTo(0);
+		assertThat(IntLazySeq.empty().toString()).isEqualTo("[]");
+	}
+
+	@Test
+	public void shouldThrowWhenHeadOfEmpty() throws Exception {
+		try {
+			IntLazySeq.empty().head();
+			failBecauseExceptionWasNotThrown(NoSuchElementException.class);
+		} catch (NoSuchElementException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldCreateFixedSeq() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(3, 1, 4);
+
+		//then
+		assertThat(seq.head()).isEqualTo(3);
+		assertThat(seq.tail().head()).isEqualTo(1);
+		assertThat(seq.get(2)).isEqualTo(4);
+		assertThat(seq.size()).isEqualTo(3);
+		assertThat(seq.toArray()).containsExactly(3, 1, 4);
+		assertThat(seq.toString()).isEqualTo("[3, 1, 4]");
+	}
+
+	@Test
+	public void shouldThrowWhenIndexOutOfBounds() throws Exception {
+		try {
+			IntLazySeq.of(1, 2).get(2);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldGenerateInfiniteNumbers() throws Exception {
+		//given
+		final IntLazySeq naturals = IntLazySeq.numbers(1);
+
+		//then
+		assertThat(naturals.get(0)).isEqualTo(1);
+		assertThat(naturals.get(1000)).isEqualTo(1001);
+		assertThat(IntLazySeq.numbers(10, -2).take(4).toArray()).containsExactly(10, 8, 6, 4);
+	}
+
+	@Test
+	public void shouldNotEvaluateAnythingUntilObserved() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final IntLazySeq seq = IntLazySeq.tabulate(0, i -> invocations.incrementAndGet());
+
+		//then
+		assertThat(invocations.get()).isEqualTo(0);
+		assertThat(seq.toString()).isEqualTo("[?]");
+		assertThat(seq.head()).isEqualTo(1);
+		assertThat(invocations.get()).isEqualTo(IntLazySeq.CHUNK_SIZE);
+	}
+
+	@Test
+	public void shouldIterate() throws Exception {
+		assertThat(IntLazySeq.iterate(1, x -> x * 2).take(11).toArray()).containsExactly(1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024);
+	}
+
+	@Test
+	public void shouldMapFilterAndReduce() throws Exception {
+		//given
+		final IntLazySeq naturals = IntLazySeq.numbers(1);
+
+		//when
+		final IntLazySeq evenSquares = naturals.map(x -> x * x).filter(x -> x % 2 == 0);
+
+		//then
+		assertThat(evenSquares.take(4).toArray()).containsExactly(4, 16, 36, 64);
+		assertThat(evenSquares.take(4).sum()).isEqualTo(120);
+		assertThat(evenSquares.take(4).reduce(1, (a, b) -> a * b)).isEqualTo(147456);
+	}
+
+	@Test
+	public void shouldFilterSparseElementsWithoutBlockingConstruction() throws Exception {
+		//given
+		final IntLazySeq none = IntLazySeq.numbers(1).filter(x -> x < 0);
+		final IntLazySeq sparse = IntLazySeq.numbers(1).filter(x -> x % 1_000_000 == 0);
+
+		//then
+		assertThat(none.toString()).isEqualTo("[?]");
+		assertThat(sparse.take(2).toArray()).containsExactly(1_000_000, 2_000_000);
+	}
+
+	@Test
+	public void shouldTakeAndDropAcrossChunks() throws Exception {
+		//given
+		final IntLazySeq naturals = IntLazySeq.numbers(0);
+
+		//when
+		final IntLazySeq slice = naturals.drop(100).take(200);
+
+		//then
+		assertThat(slice.size()).isEqualTo(200);
+		assertThat(slice.head()).isEqualTo(100);
+		assertThat(slice.get(199)).isEqualTo(299);
+		assertThat(slice.drop(500).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldConvertToAndFromLazySeq() throws Exception {
+		//given
+		final LazySeq<String> strings = LazySeq.of("a", "bb", "ccc");
+
+		//when
+		final IntLazySeq lengths = strings.mapToInt(String::length);
+
+		//then
+		assertThat(lengths.toArray()).containsExactly(1, 2, 3);
+		assertThat(lengths.boxed()).isEqualTo(LazySeq.of(1, 2, 3));
+		assertThat(lengths.mapToObj(Integer::toString)).isEqualTo(LazySeq.of("1", "2", "3"));
+	}
+
+	@Test
+	public void shouldConvertInfiniteLazySeq() throws Exception {
+		assertThat(LazySeq.numbers(1).mapToInt(x -> x * 10).take(100).sum()).isEqualTo(50500);
+	}
+
+	@Test
+	public void shouldExposeIntStream() throws Exception {
+		assertThat(IntLazySeq.numbers(1).stream().limit(100).sum()).isEqualTo(5050);
+		assertThat(IntLazySeq.of(5, 1, 3).stream().max().getAsInt()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldIterateWithPrimitiveIterator() throws Exception {
+		//given
+		final AtomicInteger sum = new AtomicInteger();
+
+		//when
+		IntLazySeq.of(1, 2, 3).iterator().forEachRemaining((int x) -> sum.addAndGet(x));
+
+		//then
+		assertThat(sum.get()).isEqualTo(6);
+	}
+
+	@Test
+	public void shouldShowOnlyEvaluatedChunksInToString() throws Exception {
+		//given
+		final IntLazySeq naturals = IntLazySeq.numbers(0).map(x -> x);
+
+		//when
+		naturals.head();
+
+		//then
+		assertThat(naturals.toString()).endsWith(", " + (IntLazySeq.CHUNK_SIZE - 1) + ", ?]");
+	}
+
+	@Test
+	public void shouldCompareSeqs() throws Exception {
+		assertThat(IntLazySeq.numbers(1).take(100)).isEqualTo(IntLazySeq.iterate(1, x -> x + 1).take(100));
+		assertThat(IntLazySeq.of(1, 2).hashCode()).isEqualTo(IntLazySeq.numbers(1).take(2).hashCode());
+		assertThat(IntLazySeq.of(1, 2)).isNotEqualTo(IntLazySeq.of(1, 2, 3));
+	}
+
+	@Test
+	public void shouldHandleLargeSeqWithoutStackOverflow() throws Exception {
+		assertThat(IntLazySeq.numbers(0).take(10_000_000).size()).isEqualTo(10_000_000);
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.Objects;
+
+/**
+ * Sample adapters between {@link Flow} and <code>java.util.concurrent.Flow</code> of Java 9+.
+ * Neither set of interfaces extends the other, so every publisher, subscriber and subscription crossing
+ * the boundary is wrapped. Compiled only on Java 9 and later, see <code>java8</code> profile in <code>pom.xml</code>.
+ */
+final class JdkFlowAdapters {
+
+	private JdkFlowAdapters() {
+	}
+
+	static <T> java.util.concurrent.Flow.Publisher<T> toJdk(Flow.Publisher<T> publisher) {
+		Objects.requireNonNull(publisher);
+		return subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscriber.onSubscribe(new java.util.concurrent.Flow.Subscription() {
+					@Override
+					public void request(long n) {
+						subscription.request(n);
+					}
+
+					@Override
+					public void cancel() {
+						subscription.cancel();
+					}
+				});
+			}
+
+			@Override
+			public void onNext(T item) {
+				subscriber.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				subscriber.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		});
+	}
+
+	static <T> Flow.Publisher<T> fromJdk(java.util.concurrent.Flow.Publisher<T> publisher) {
+		Objects.requireNonNull(publisher);
+		return subscriber -> publisher.subscribe(new java.util.concurrent.Flow.Subscriber<T>() {
+			@Override
+			public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+				subscriber.onSubscribe(new Flow.Subscription() {
+					@Override
+					public void request(long n) {
+						subscription.request(n);
+					}
+
+					@Override
+					public void cancel() {
+						subscription.cancel();
+					}
+				});
+			}
+
+			@Override
+			public void onNext(T item) {
+				subscriber.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				subscriber.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		});
+	}
+
+}
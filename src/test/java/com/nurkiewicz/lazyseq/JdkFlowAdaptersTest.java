@@ -0,0 +1,87 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdkFlowAdaptersTest extends AbstractBaseTestCase {
+
+	private ExecutorService executor;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldConsumeJdkPublisherAsSeq() throws Exception {
+		//given
+		final SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>(executor, 4);
+		final LazySeq<Integer> seq = fromPublisher(JdkFlowAdapters.fromJdk(publisher), 2);
+		final Future<List<Integer>> consumed = executor.submit(seq::toList);
+
+		//when
+		while (publisher.getNumberOfSubscribers() == 0) {
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+		for (int i = 0; i < 10; ++i) {
+			publisher.submit(i);
+		}
+		publisher.close();
+
+		//then
+		assertThat(consumed.get(5, TimeUnit.SECONDS)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+	}
+
+	@Test
+	public void shouldPublishSeqToJdkSubscriber() throws Exception {
+		//given
+		final List<Integer> items = new CopyOnWriteArrayList<>();
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		//when
+		JdkFlowAdapters.toJdk(numbers(0).take(5).toPublisher(executor)).subscribe(new java.util.concurrent.Flow.Subscriber<Integer>() {
+			@Override
+			public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(Integer item) {
+				items.add(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+
+		//then
+		assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(items).containsExactly(0, 1, 2, 3, 4);
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqArrayTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldBackVarargsWithArray() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3, 4, 5);
+
+		//then
+		assertThat(seq).isInstanceOf(ArraySeq.class);
+		assertThat(seq.tail()).isInstanceOf(ArraySeq.class);
+		assertThat(seq.drop(2)).isInstanceOf(ArraySeq.class);
+		assertThat(seq.slice(1, 3)).isInstanceOf(ArraySeq.class);
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4, 5]");
+	}
+
+	@Test
+	public void shouldBackRandomAccessListWithArray() throws Exception {
+		assertThat(of(Arrays.asList('a', 'b'))).isInstanceOf(ArraySeq.class);
+		assertThat(of(new ArrayList<>(Arrays.asList('a', 'b')))).isInstanceOf(ArraySeq.class);
+		assertThat(of(new LinkedList<>(Arrays.asList('a', 'b')))).isNotInstanceOf(ArraySeq.class);
+	}
+
+	@Test
+	public void shouldNotBeAffectedByLaterModificationOfSource() throws Exception {
+		//given
+		final Integer[] array = {1, 2, 3};
+		final List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+		final LazySeq<Integer> fromArray = of(array);
+		final LazySeq<Integer> fromList = of(list);
+
+		//when
+		array[0] = 42;
+		list.set(0, 42);
+
+		//then
+		assertThat(fromArray).containsExactly(1, 2, 3);
+		assertThat(fromList).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void shouldAnswerPositionalQueries() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(new ArrayList<>(numbers(0).take(1000)));
+
+		//then
+		assertThat(seq.size()).isEqualTo(1000);
+		assertThat(seq.get(999)).isEqualTo(999);
+		assertThat(seq.drop(990)).containsExactly(990, 991, 992, 993, 994, 995, 996, 997, 998, 999);
+		assertThat(seq.take(3)).containsExactly(0, 1, 2);
+		assertThat(seq.slice(500, 503)).containsExactly(500, 501, 502);
+		assertThat(seq.drop(1000)).isEmpty();
+		assertThat(seq.take(5000)).isSameAs(seq);
+		assertThat(seq.drop(10).size()).isEqualTo(990);
+		assertThat(seq.spliterator().getExactSizeIfKnown()).isEqualTo(1000);
+	}
+
+	@Test
+	public void shouldThrowWhenIndexOutOfBounds() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3).tail();
+
+		//when
+		try {
+			seq.get(2);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldRejectNullElements() throws Exception {
+		try {
+			of(1, 2, null, 4);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldReturnEmptySeqForEmptyInput() throws Exception {
+		assertThat(of()).isSameAs(empty());
+		assertThat(of(new ArrayList<Integer>())).isSameAs(empty());
+	}
+
+	@Test
+	public void shouldMapAndFilterLazily() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = of(1, 2, 3, 4, 5, 6);
+
+		//when
+		final LazySeq<Integer> transformed = seq.map(x -> {
+			invocations.incrementAndGet();
+			return x * 10;
+		}).filter(x -> x > 20);
+
+		//then
+		assertThat(invocations.get()).isZero();
+		assertThat(transformed).containsExactly(30, 40, 50, 60);
+		assertThat(seq.flatMap(x -> Arrays.asList(x, -x)).take(4)).containsExactly(1, -1, 2, -2);
+	}
+
+	@Test
+	public void shouldConcatPageWithoutPerElementCells() throws Exception {
+		//given
+		final List<Integer> page = new ArrayList<>(numbers(0).take(100));
+
+		//when
+		final LazySeq<Integer> pages = concat(page, () -> concat(page, empty()));
+
+		//then
+		assertThat(pages).isInstanceOf(ChunkedCons.class);
+		assertThat(pages.drop(150)).isInstanceOf(ArraySeq.class);
+		assertThat(pages.get(150)).isEqualTo(50);
+		assertThat(pages.size()).isEqualTo(200);
+		assertThat(concat(page, of(-1)).drop(100)).containsExactly(-1);
+	}
+
+}
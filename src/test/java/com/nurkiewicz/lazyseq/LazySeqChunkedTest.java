@@ -0,0 +1,149 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqChunkedTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldThrowWhenChunkSizeNotPositive() throws Exception {
+		try {
+			iterate(1, x -> x + 1, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldEvaluateWholeChunkAtOnce() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			invocations.incrementAndGet();
+			return i;
+		}, 4);
+
+		//then
+		assertThat(invocations.get()).isEqualTo(4);
+		assertThat(seq.toString()).isEqualTo("[0, 1, 2, 3, ?]");
+	}
+
+	@Test
+	public void shouldEvaluateNextChunkOnlyWhenCrossingChunkBoundary() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(1, x -> {
+			invocations.incrementAndGet();
+			return x * 2;
+		}, 4);
+
+		//when
+		final Integer fourth = seq.get(3);
+		final int beforeCrossing = invocations.get();
+		final Integer fifth = seq.get(4);
+
+		//then
+		assertThat(fourth).isEqualTo(8);
+		assertThat(beforeCrossing).isEqualTo(3);
+		assertThat(fifth).isEqualTo(16);
+		assertThat(invocations.get()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldGenerateSameElementsAsNotChunkedIterate() throws Exception {
+		assertThat(iterate(1, x -> x * 3, 7).take(50)).isEqualTo(iterate(1, x -> x * 3).take(50));
+	}
+
+	@Test
+	public void shouldGenerateSameElementsAsNotChunkedTabulate() throws Exception {
+		assertThat(tabulate(5, i -> i * i, 3).take(20)).isEqualTo(tabulate(5, i -> i * i).take(20));
+	}
+
+	@Test
+	public void shouldReadIteratorInChunks() throws Exception {
+		//given
+		final LazySeq<Character> chars = of(Arrays.asList('a', 'b', 'c', 'd', 'e').iterator(), 2);
+
+		//then
+		assertThat(chars).isEqualTo(of('a', 'b', 'c', 'd', 'e'));
+		assertThat(chars.size()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldReturnEmptySeqForEmptyIterator() throws Exception {
+		assertThat(of(Arrays.<Integer>asList().iterator(), 8)).isEqualTo(empty());
+	}
+
+	@Test
+	public void shouldMapChunks() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = iterate(1, x -> x + 1, 5);
+
+		//when
+		final LazySeq<String> strings = naturals.map(x -> "#" + x);
+
+		//then
+		assertThat(strings.toString()).isEqualTo("[#1, #2, #3, #4, #5, ?]");
+		assertThat(strings.take(7)).isEqualTo(of("#1", "#2", "#3", "#4", "#5", "#6", "#7"));
+	}
+
+	@Test
+	public void shouldFilterChunksSkippingChunksWithoutMatches() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = iterate(1, x -> x + 1, 4);
+
+		//when
+		final LazySeq<Integer> filtered = naturals.filter(x -> x % 10 == 0);
+
+		//then
+		assertThat(filtered.take(3)).isEqualTo(of(10, 20, 30));
+	}
+
+	@Test
+	public void shouldTakeWithinSingleChunk() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = iterate(1, x -> x + 1, 8);
+
+		//when
+		final LazySeq<Integer> first = naturals.take(3);
+
+		//then
+		assertThat(first.toString()).isEqualTo("[1, 2, 3]");
+		assertThat(first.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldTakeAcrossChunks() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = iterate(1, x -> x + 1, 3);
+
+		//when
+		final LazySeq<Integer> first = naturals.take(7);
+
+		//then
+		assertThat(first).isEqualTo(of(1, 2, 3, 4, 5, 6, 7));
+	}
+
+	@Test
+	public void shouldDropAndGetAcrossChunks() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = iterate(0, x -> x + 1, 4);
+
+		//then
+		assertThat(naturals.drop(2).head()).isEqualTo(2);
+		assertThat(naturals.drop(9).head()).isEqualTo(9);
+		assertThat(naturals.get(3)).isEqualTo(3);
+		assertThat(naturals.get(1000)).isEqualTo(1000);
+		assertThat(naturals.slice(5, 10)).isEqualTo(of(5, 6, 7, 8, 9));
+	}
+
+}
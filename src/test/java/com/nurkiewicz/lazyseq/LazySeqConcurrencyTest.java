@@ -0,0 +1,124 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.cons;
+import static com.nurkiewicz.lazyseq.LazySeq.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqConcurrencyTest extends AbstractBaseTestCase {
+
+	private static final int THREADS = 32;
+
+	private ExecutorService pool;
+
+	@BeforeMethod
+	public void startPool() {
+		pool = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopPool() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void shouldEvaluateEachTailExactlyOnceWhenManyThreadsTraverseSharedSeq() throws Exception {
+		//given
+		final AtomicInteger evaluations = new AtomicInteger();
+		final LazySeq<Integer> shared = countingNaturals(0, evaluations);
+		final CyclicBarrier start = new CyclicBarrier(THREADS);
+		final List<Future<Long>> sums = new ArrayList<>();
+
+		//when
+		for (int i = 0; i < THREADS; ++i) {
+			sums.add(pool.submit(() -> {
+				start.await();
+				return shared.take(10_000).reduce(0L, (acc, x) -> acc + x);
+			}));
+		}
+
+		//then
+		for (Future<Long> sum : sums) {
+			assertThat(sum.get(10, TimeUnit.SECONDS)).isEqualTo(49_995_000L);
+		}
+		assertThat(evaluations.get()).isEqualTo(9_999);
+	}
+
+	@Test
+	public void shouldParkLateArrivalsWhileSlowTailIsEvaluated() throws Exception {
+		//given
+		final CountDownLatch evaluating = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger evaluations = new AtomicInteger();
+		final LazySeq<Integer> seq = cons(1, () -> {
+			evaluations.incrementAndGet();
+			evaluating.countDown();
+			awaitQuietly(release);
+			return of(2);
+		});
+
+		//when
+		final Future<LazySeq<Integer>> first = pool.submit(seq::tail);
+		evaluating.await();
+		final Future<LazySeq<Integer>> second = pool.submit(seq::tail);
+		final Future<LazySeq<Integer>> third = pool.submit(seq::tail);
+		TimeUnit.MILLISECONDS.sleep(50);
+		assertThat(second.isDone()).isFalse();
+		release.countDown();
+
+		//then
+		assertThat(second.get(1, TimeUnit.SECONDS)).isSameAs(first.get(1, TimeUnit.SECONDS));
+		assertThat(third.get(1, TimeUnit.SECONDS)).isSameAs(first.get());
+		assertThat(evaluations.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRetryTailEvaluationAfterFailure() throws Exception {
+		//given
+		final AtomicInteger attempts = new AtomicInteger();
+		final LazySeq<Integer> seq = cons(1, () -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("Transient");
+			}
+			return of(2);
+		});
+
+		//when
+		try {
+			seq.tail();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+		}
+
+		//then
+		assertThat(seq.tail()).isEqualTo(of(2));
+		assertThat(seq.tail()).isEqualTo(of(2));
+		assertThat(attempts.get()).isEqualTo(2);
+	}
+
+	private static LazySeq<Integer> countingNaturals(int from, AtomicInteger evaluations) {
+		return cons(from, () -> {
+			evaluations.incrementAndGet();
+			return countingNaturals(from + 1, evaluations);
+		});
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -102,4 +102,18 @@ public class LazySeqDistinctTest extends AbstractBaseTestCase {
 		assertThat(dist.take(5)).isEqualTo(of(2, 3, 7, 5, 11));
 	}
 
+	@Test
+	public void shouldReturnImmediatelyOnInfiniteSeqOfSameElements() throws Exception {
+		//given
+		final LazySeq<Integer> ones = continually(1);
+
+		//when
+		final LazySeq<Integer> dist = ones.distinct();
+
+		//then
+		assertThat(dist.head()).isEqualTo(1);
+		final LazySeq<Integer> rest = dist.tail();
+		assertThat(ones.toString()).isEqualTo("[1, ?]");
+	}
+
 }
@@ -0,0 +1,162 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.nurkiewicz.lazyseq.LazySeq.drain;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqDrainTest extends AbstractBaseTestCase {
+
+	private static final Integer POISON_PILL = -1;
+
+	@Test
+	public void shouldRejectInvalidArguments() throws Exception {
+		final BlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+		try {
+			drain(queue, POISON_PILL, 0, 1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+		try {
+			drain(queue, 10, -1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldNotTakeAnythingUntilAccessed() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2, 3);
+
+		//when
+		drain(queue, POISON_PILL, 10, 1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(queue).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void shouldTakeQueuedElementsInBatches() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		final LazySeq<Integer> seq = drain(queue, POISON_PILL, 4, 10, TimeUnit.MILLISECONDS);
+
+		//when
+		final Integer head = seq.head();
+
+		//then
+		assertThat(head).isEqualTo(1);
+		assertThat(queue).containsExactly(5, 6, 7, 8, 9, 10);
+		assertThat(seq.tail()).isInstanceOf(ChunkedCons.class);
+		assertThat(seq.get(4)).isEqualTo(5);
+		assertThat(queue).containsExactly(9, 10);
+	}
+
+	@Test
+	public void shouldEndOnPoisonPillKeepingElementsBeforeIt() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2, POISON_PILL);
+
+		//when
+		final LazySeq<Integer> seq = drain(queue, POISON_PILL, 10, 1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(seq).containsExactly(1, 2);
+	}
+
+	@Test
+	public void shouldEndOnPoisonPillTakenAsFirstOfBatch() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2, POISON_PILL);
+
+		//when
+		final LazySeq<Integer> seq = drain(queue, POISON_PILL, 2, 1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(seq).containsExactly(1, 2);
+		assertThat(queue).isEmpty();
+	}
+
+	@Test
+	public void shouldEndWhenNothingArrivesWithinTimeout() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2);
+		final LazySeq<Integer> seq = drain(queue, 10, 20, TimeUnit.MILLISECONDS);
+
+		//when
+		final List<Integer> drained = seq.toList();
+		queue.add(3);
+
+		//then
+		assertThat(drained).containsExactly(1, 2);
+		assertThat(seq.size()).isEqualTo(2);
+		assertThat(queue).containsExactly(3);
+	}
+
+	@Test
+	public void shouldReceiveEverythingPushedByProducerThread() throws Exception {
+		//given
+		final int count = 10_000;
+		final BlockingQueue<Integer> ringBuffer = new ArrayBlockingQueue<>(64);
+		final Thread producer = new Thread(() -> {
+			try {
+				for (int i = 0; i < count; ++i) {
+					ringBuffer.put(i);
+				}
+				ringBuffer.put(POISON_PILL);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		//when
+		producer.start();
+		final LazySeq<Integer> seq = drain(ringBuffer, POISON_PILL, 32, 5, TimeUnit.SECONDS);
+
+		//then
+		assertThat(seq.size()).isEqualTo(count);
+		for (int i = 0; i < count; ++i) {
+			assertThat(seq.get(i)).isEqualTo(i);
+		}
+		producer.join(1_000);
+	}
+
+	@Test
+	public void shouldRetryAfterInterruption() throws Exception {
+		//given
+		final BlockingQueue<Integer> queue = queueOf(1, 2, POISON_PILL);
+		final LazySeq<Integer> seq = drain(queue, POISON_PILL, 10, 1, TimeUnit.SECONDS);
+		Thread.currentThread().interrupt();
+
+		//when
+		try {
+			seq.head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(Thread.interrupted()).isTrue();
+		}
+
+		//then
+		assertThat(seq).containsExactly(1, 2);
+	}
+
+	@SafeVarargs
+	private static <T> BlockingQueue<T> queueOf(T... elements) {
+		final BlockingQueue<T> queue = new LinkedBlockingQueue<>();
+		for (T element : elements) {
+			queue.add(element);
+		}
+		return queue;
+	}
+
+}
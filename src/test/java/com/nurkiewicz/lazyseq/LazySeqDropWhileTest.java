@@ -3,7 +3,10 @@ package com.nurkiewicz.lazyseq;
 import com.nurkiewicz.lazyseq.samples.Seqs;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.nurkiewicz.lazyseq.LazySeq.empty;
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
 import static com.nurkiewicz.lazyseq.LazySeq.of;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,4 +112,23 @@ public class LazySeqDropWhileTest extends AbstractBaseTestCase {
 		assertThat(filtered.take(5)).isEqualTo(of(11, 13, 17, 19, 23));
 	}
 
+	@Test
+	public void shouldNotEvaluateAnythingUntilObserved() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = numbers(1);
+		final AtomicInteger tested = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> dropped = naturals.dropWhile(x -> {
+			tested.incrementAndGet();
+			return x < 5;
+		});
+
+		//then
+		assertThat(naturals.toString()).isEqualTo("[1, ?]");
+		assertThat(tested.get()).isZero();
+		assertThat(dropped.take(2)).containsExactly(5, 6);
+		assertThat(tested.get()).isEqualTo(5);
+	}
+
 }
@@ -4,6 +4,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static com.nurkiewicz.lazyseq.LazySeq.*;
@@ -61,6 +62,18 @@ public class LazySeqFilterTest extends AbstractBaseTestCase {
 		verifyZeroInteractions(supplierMock);
 	}
 
+	@Test
+	public void shouldNotEvaluateTailWhenFirstElementNotMatchingUntilObserved() throws Exception {
+		//given
+		final LazySeq<String> generated = LazySeq.cons("", supplierMock);
+
+		//when
+		generated.filter(s -> !s.isEmpty());
+
+		//then
+		verifyZeroInteractions(supplierMock);
+	}
+
 	@Test
 	public void shouldEvaluateTailOnceWhenFirstElementNotMatching() throws Exception {
 		//given
@@ -68,12 +81,53 @@ public class LazySeqFilterTest extends AbstractBaseTestCase {
 		given(supplierMock.get()).willReturn(of("C"));
 
 		//when
-		generated.filter(s -> !s.isEmpty());
+		final LazySeq<String> filtered = generated.filter(s -> !s.isEmpty());
+		filtered.head();
+		filtered.isEmpty();
 
 		//then
 		Mockito.verify(supplierMock).get();
 	}
 
+	@Test
+	public void shouldReturnImmediatelyWhenFilteringInfiniteSeqWithSparseMatches() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = numbers(1);
+		final AtomicInteger tested = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> filtered = naturals.filter(x -> {
+			tested.incrementAndGet();
+			return x % 1000 == 0;
+		});
+		final LazySeq<Integer> doubled = filtered.map(x -> x * 2).take(3);
+
+		//then
+		assertThat(tested.get()).isZero();
+		assertThat(doubled).containsExactly(2000, 4000, 6000);
+		assertThat(tested.get()).isEqualTo(3000);
+	}
+
+	@Test
+	public void shouldNotTestAnyElementUntilObserved() throws Exception {
+		//given
+		final LazySeq<Integer> fixed = of(1, 2, 3);
+
+		//when
+		final AtomicInteger tested = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> filtered = fixed.filter(x -> {
+			tested.incrementAndGet();
+			return x % 2 == 0;
+		});
+
+		//then
+		assertThat(tested.get()).isZero();
+		assertThat(filtered).containsExactly(2);
+		assertThat(tested.get()).isEqualTo(3);
+	}
+
 	@Test
 	public void shouldEvaluateTailMultipleTimesToReturnLastElement() throws Exception {
 		//given
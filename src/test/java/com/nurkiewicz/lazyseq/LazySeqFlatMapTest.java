@@ -3,6 +3,7 @@ package com.nurkiewicz.lazyseq;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static com.nurkiewicz.lazyseq.LazySeq.numbers;
@@ -85,6 +86,39 @@ public class LazySeqFlatMapTest extends AbstractBaseTestCase {
 		assertThat(flat.take(10)).isEqualTo(of(2, 3, 4, 5, 6, 7, 0, 0, 0, 0));
 	}
 
+	@Test
+	public void shouldNotApplyFunctionUntilObserved() throws Exception {
+		//given
+		final LazySeq<Integer> raw = LazySeq.of(1, supplierMock);
+
+		//when
+		raw.flatMap(i -> {
+			throw new IllegalStateException("Should not be called");
+		});
+
+		//then
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldReturnImmediatelyWhenAllResultsEmptyOnInfiniteSeq() throws Exception {
+		//given
+		final LazySeq<Integer> raw = numbers(1);
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> flat = raw.flatMap(i -> {
+			invocations.incrementAndGet();
+			return i % 1000 == 0 ? asList(i) : emptyList();
+		});
+		final LazySeq<Integer> firstTwo = flat.take(2);
+
+		//then
+		assertThat(invocations.get()).isZero();
+		assertThat(firstTwo).containsExactly(1000, 2000);
+		assertThat(invocations.get()).isEqualTo(2000);
+	}
+
 	private static Iterable<Integer> flatMapFun(int i) {
 		if (i <= 0) {
 			return emptyList();
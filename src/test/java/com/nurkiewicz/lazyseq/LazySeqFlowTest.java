@@ -0,0 +1,371 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqFlowTest extends AbstractBaseTestCase {
+
+	private ExecutorService executor;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldEvaluateTailsOnlyAsRequested() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(0, x -> {
+			evaluated.incrementAndGet();
+			return x + 1;
+		});
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+		//when
+		seq.toPublisher(Runnable::run).subscribe(subscriber);
+
+		//then
+		assertThat(evaluated.get()).isZero();
+		subscriber.subscription.request(3);
+		assertThat(subscriber.items).containsExactly(0, 1, 2);
+		assertThat(evaluated.get()).isEqualTo(2);
+		subscriber.subscription.request(2);
+		assertThat(subscriber.items).containsExactly(0, 1, 2, 3, 4);
+		assertThat(subscriber.completed.get()).isFalse();
+	}
+
+	@Test
+	public void shouldCompleteAfterLastElement() throws Exception {
+		//given
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		of(1, 2, 3).toPublisher(executor).subscribe(subscriber);
+
+		//when
+		subscriber.subscription.request(Long.MAX_VALUE);
+		awaitIdle();
+
+		//then
+		assertThat(subscriber.items).containsExactly(1, 2, 3);
+		assertThat(subscriber.completed.get()).isTrue();
+	}
+
+	@Test
+	public void shouldSignalFailureOfTailSupplier() throws Exception {
+		//given
+		final LazySeq<Integer> broken = cons(1, () -> {
+			throw new IllegalStateException("Broken");
+		});
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		broken.toPublisher(Runnable::run).subscribe(subscriber);
+
+		//when
+		subscriber.subscription.request(5);
+
+		//then
+		assertThat(subscriber.items).containsExactly(1);
+		assertThat(subscriber.error.get()).isInstanceOf(IllegalStateException.class).hasMessage("Broken");
+	}
+
+	@Test
+	public void shouldSignalErrorOnNonPositiveRequest() throws Exception {
+		//given
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		numbers(0).toPublisher(Runnable::run).subscribe(subscriber);
+
+		//when
+		subscriber.subscription.request(0);
+
+		//then
+		assertThat(subscriber.items).isEmpty();
+		assertThat(subscriber.error.get()).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldSignalNonPositiveRequestFromDrainTask() throws Exception {
+		//given
+		final AtomicReference<Thread> signalling = new AtomicReference<>();
+		final CountDownLatch failed = new CountDownLatch(1);
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+			@Override
+			public void onError(Throwable throwable) {
+				signalling.set(Thread.currentThread());
+				super.onError(throwable);
+				failed.countDown();
+			}
+		};
+		numbers(0).toPublisher(executor).subscribe(subscriber);
+
+		//when
+		subscriber.subscription.request(-1);
+
+		//then
+		assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(signalling.get()).isNotSameAs(Thread.currentThread());
+		assertThat(subscriber.error.get()).isInstanceOf(IllegalArgumentException.class);
+		subscriber.subscription.request(3);
+		executor.submit(() -> {}).get();
+		assertThat(subscriber.items).isEmpty();
+	}
+
+	@Test
+	public void shouldStopEmittingWhenCancelled() throws Exception {
+		//given
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		numbers(0).toPublisher(Runnable::run).subscribe(subscriber);
+		subscriber.subscription.request(2);
+
+		//when
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(10);
+
+		//then
+		assertThat(subscriber.items).containsExactly(0, 1);
+		assertThat(subscriber.completed.get()).isFalse();
+	}
+
+	@Test
+	public void shouldNotSubscribeUntilAccessed() throws Exception {
+		//given
+		final AtomicBoolean subscribed = new AtomicBoolean();
+		final Flow.Publisher<Integer> publisher = subscriber -> {
+			subscribed.set(true);
+			of(1, 2).toPublisher(Runnable::run).subscribe(subscriber);
+		};
+
+		//when
+		final LazySeq<Integer> seq = fromPublisher(publisher, 4);
+
+		//then
+		assertThat(subscribed.get()).isFalse();
+		assertThat(seq).containsExactly(1, 2);
+		assertThat(seq).containsExactly(1, 2);
+	}
+
+	@Test
+	public void shouldRequestInBoundedBatches() throws Exception {
+		//given
+		final AtomicLong requested = new AtomicLong();
+		final AtomicLong maxRequest = new AtomicLong();
+		final Flow.Publisher<Integer> infinite = recordingRequests(numbers(0).toPublisher(executor), requested, maxRequest);
+
+		//when
+		final LazySeq<Integer> seq = fromPublisher(infinite, 16);
+		final LazySeq<Integer> firstThousand = seq.take(1_000).force();
+
+		//then
+		assertThat(firstThousand.size()).isEqualTo(1_000);
+		assertThat(firstThousand.get(999)).isEqualTo(999);
+		assertThat(maxRequest.get()).isLessThanOrEqualTo(16);
+		assertThat(requested.get()).isLessThanOrEqualTo(1_000 + 16);
+	}
+
+	@Test
+	public void shouldThrowSignalledFailureWhenReached() throws Exception {
+		//given
+		final LazySeq<Integer> source = concat(of(1, 2), () -> {
+			throw new IllegalStateException("Upstream failed");
+		});
+		final LazySeq<Integer> seq = fromPublisher(source.toPublisher(executor), 8);
+
+		//when
+		final List<Integer> firstTwo = seq.take(2).toList();
+
+		//then
+		assertThat(firstTwo).containsExactly(1, 2);
+		for (int attempt = 0; attempt < 2; ++attempt) {
+			try {
+				seq.drop(2).isEmpty();
+				failBecauseExceptionWasNotThrown(IllegalStateException.class);
+			} catch (IllegalStateException e) {
+				assertThat(e).hasMessage("Upstream failed");
+			}
+		}
+	}
+
+	@Test
+	public void shouldFailWhenPublisherIgnoresBackpressure() throws Exception {
+		//given
+		final Flow.Publisher<Integer> greedy = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				for (int i = 0; i < n + 1; ++i) {
+					subscriber.onNext(i);
+				}
+			}
+
+			@Override
+			public void cancel() {
+			}
+		});
+
+		//when
+		final LazySeq<Integer> seq = fromPublisher(greedy, 2);
+
+		//then
+		try {
+			seq.force();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).contains("more items than requested");
+		}
+	}
+
+	@Test
+	public void shouldDropSignalsAfterPublisherIgnoredBackpressure() throws Exception {
+		//given
+		final AtomicInteger cancelled = new AtomicInteger();
+		final Flow.Publisher<Integer> flooding = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				for (int i = 0; i < 100_000; ++i) {
+					subscriber.onNext(i);
+				}
+				subscriber.onComplete();
+			}
+
+			@Override
+			public void cancel() {
+				cancelled.incrementAndGet();
+			}
+		});
+
+		//when
+		final LazySeq<Integer> seq = fromPublisher(flooding, 2);
+
+		//then
+		try {
+			seq.force();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).contains("more items than requested");
+		}
+		assertThat(seq.take(2)).containsExactly(0, 1);
+		assertThat(cancelled.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldWaitForItemsSignalledFromAnotherThread() throws Exception {
+		//given
+		final AtomicReference<Flow.Subscriber<? super Integer>> subscriber = new AtomicReference<>();
+		final CountDownLatch subscribed = new CountDownLatch(1);
+		final Flow.Publisher<Integer> manual = s -> {
+			subscriber.set(s);
+			s.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscribed.countDown();
+		};
+		final LazySeq<Integer> seq = fromPublisher(manual, 4);
+		final Future<List<Integer>> consumed = executor.submit(seq::toList);
+
+		//when
+		subscribed.await();
+		for (int i = 1; i <= 3; ++i) {
+			TimeUnit.MILLISECONDS.sleep(10);
+			subscriber.get().onNext(i);
+		}
+		subscriber.get().onComplete();
+
+		//then
+		assertThat(consumed.get(1, TimeUnit.SECONDS)).containsExactly(1, 2, 3);
+	}
+
+	private static <T> Flow.Publisher<T> recordingRequests(Flow.Publisher<T> publisher, AtomicLong requested, AtomicLong maxRequest) {
+		return subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscriber.onSubscribe(new Flow.Subscription() {
+					@Override
+					public void request(long n) {
+						requested.addAndGet(n);
+						maxRequest.accumulateAndGet(n, Math::max);
+						subscription.request(n);
+					}
+
+					@Override
+					public void cancel() {
+						subscription.cancel();
+					}
+				});
+			}
+
+			@Override
+			public void onNext(T item) {
+				subscriber.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				subscriber.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		});
+	}
+
+	private void awaitIdle() throws Exception {
+		executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+	}
+
+	private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+		final List<T> items = new CopyOnWriteArrayList<>();
+		final AtomicBoolean completed = new AtomicBoolean();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		volatile Flow.Subscription subscription;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error.set(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			completed.set(true);
+		}
+	}
+
+}
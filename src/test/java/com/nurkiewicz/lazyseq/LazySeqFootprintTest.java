@@ -0,0 +1,89 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+
+import static com.nurkiewicz.lazyseq.LazySeq.cons;
+import static com.nurkiewicz.lazyseq.LazySeq.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqFootprintTest extends AbstractBaseTestCase {
+
+	private static final int PAYLOAD_BYTES = 16 * 1024;
+
+	@Test
+	public void shouldReleaseStateCapturedByTailSupplierOnceEvaluated() throws Exception {
+		//given
+		byte[] captured = new byte[PAYLOAD_BYTES];
+		final WeakReference<byte[]> capturedRef = new WeakReference<>(captured);
+		final LazySeq<Integer> seq = withCapturedPayload(1, captured);
+		captured = null;
+
+		//when
+		seq.tail();
+
+		//then
+		assertThat(collect(capturedRef)).isTrue();
+		assertThat(seq.tail().head()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldKeepStateCapturedByTailSupplierUntilEvaluated() throws Exception {
+		//given
+		byte[] captured = new byte[PAYLOAD_BYTES];
+		final WeakReference<byte[]> capturedRef = new WeakReference<>(captured);
+		final LazySeq<Integer> seq = withCapturedPayload(1, captured);
+		captured = null;
+
+		//then
+		assertThat(collect(capturedRef)).isFalse();
+		assertThat(seq.head()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldNotRetainSupplierStatePerEvaluatedElement() throws Exception {
+		//given
+		final int count = 2_000;
+		final long before = usedHeapAfterGc();
+		final LazySeq<Integer> seq = payloadSeq(0, count);
+
+		//when
+		seq.force();
+		final long retainedPerElement = (usedHeapAfterGc() - before) / count;
+
+		//then
+		assertThat(seq.size()).isEqualTo(count);
+		assertThat(retainedPerElement).isLessThan(PAYLOAD_BYTES / 4);
+	}
+
+	private static LazySeq<Integer> withCapturedPayload(int head, byte[] payload) {
+		return cons(head, () -> cons(head + payload.length - PAYLOAD_BYTES + 1, empty()));
+	}
+
+	private static LazySeq<Integer> payloadSeq(int from, int to) {
+		if (from == to) {
+			return empty();
+		}
+		final byte[] payload = new byte[PAYLOAD_BYTES];
+		return cons(from, () -> payloadSeq(from + 1 + payload.length - PAYLOAD_BYTES, to));
+	}
+
+	private static boolean collect(WeakReference<?> ref) throws InterruptedException {
+		for (int i = 0; i < 10 && ref.get() != null; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		return ref.get() == null;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
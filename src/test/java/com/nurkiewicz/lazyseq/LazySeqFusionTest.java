@@ -0,0 +1,195 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqFusionTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldProduceSameResultAsIndividualStages() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = numbers(1);
+
+		//when
+		final LazySeq<String> fused = naturals
+				.map(x -> x * 3)
+				.filter(x -> x % 2 == 0)
+				.map(x -> x + 1)
+				.takeWhile(x -> x < 40)
+				.map(Object::toString);
+
+		//then
+		assertThat(fused).containsExactly("7", "13", "19", "25", "31", "37");
+	}
+
+	@Test
+	public void shouldNotRunUpstreamStagesAgainForEachBranch() throws Exception {
+		//given
+		final AtomicInteger mapped = new AtomicInteger();
+		final LazySeq<Integer> squares = numbers(0).take(30).map(x -> {
+			mapped.incrementAndGet();
+			return x * x;
+		});
+		final LazySeq<Integer> even = squares.filter(x -> x % 2 == 0);
+		final LazySeq<Integer> odd = squares.filter(x -> x % 2 != 0);
+
+		//when
+		squares.force();
+		even.force();
+		odd.force();
+
+		//then
+		assertThat(even.size() + odd.size()).isEqualTo(30);
+		assertThat(mapped.get()).isEqualTo(30);
+	}
+
+	@Test
+	public void shouldNotRunUpstreamStagesAgainWhenBranchesAreTraversedFirst() throws Exception {
+		//given
+		final AtomicInteger mapped = new AtomicInteger();
+		final LazySeq<Integer> squares = numbers(0).take(30).map(x -> {
+			mapped.incrementAndGet();
+			return x * x;
+		});
+
+		//when
+		final int even = squares.filter(x -> x % 2 == 0).size();
+		final int odd = squares.takeWhile(x -> x < 100).map(x -> -x).size();
+
+		//then
+		assertThat(even).isEqualTo(15);
+		assertThat(odd).isEqualTo(10);
+		assertThat(squares.size()).isEqualTo(30);
+		assertThat(mapped.get()).isEqualTo(30);
+	}
+
+	@Test
+	public void shouldFuseStreamStagesAndInvokeEachOncePerElement() throws Exception {
+		//given
+		final AtomicInteger mapped = new AtomicInteger();
+		final AtomicInteger tested = new AtomicInteger();
+		final AtomicInteger peeked = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> result = numbers(0).take(20).stream()
+				.map(x -> {
+					mapped.incrementAndGet();
+					return x * 2;
+				})
+				.filter(x -> {
+					tested.incrementAndGet();
+					return x % 3 == 0;
+				})
+				.peek(x -> peeked.incrementAndGet())
+				.map(x -> x / 2)
+				.collect(toLazySeq());
+
+		//then
+		assertThat(mapped.get()).isZero();
+		assertThat(result).containsExactly(0, 3, 6, 9, 12, 15, 18);
+		assertThat(result).containsExactly(0, 3, 6, 9, 12, 15, 18);
+		assertThat(mapped.get()).isEqualTo(20);
+		assertThat(tested.get()).isEqualTo(20);
+		assertThat(peeked.get()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldInvokeEachStageOncePerElement() throws Exception {
+		//given
+		final AtomicInteger mapped = new AtomicInteger();
+		final AtomicInteger tested = new AtomicInteger();
+		final LazySeq<Integer> fused = numbers(0)
+				.map(x -> {
+					mapped.incrementAndGet();
+					return x * 2;
+				})
+				.filter(x -> {
+					tested.incrementAndGet();
+					return x % 3 == 0;
+				})
+				.map(x -> x / 2)
+				.take(5);
+
+		//when
+		fused.force();
+		fused.force();
+
+		//then
+		assertThat(fused).containsExactly(0, 3, 6, 9, 12);
+		assertThat(mapped.get()).isEqualTo(13);
+		assertThat(tested.get()).isEqualTo(13);
+	}
+
+	@Test
+	public void shouldNotEvaluateAnythingBeforeObserved() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		numbers(1)
+				.map(x -> invocations.incrementAndGet())
+				.filter(x -> invocations.incrementAndGet() > 0)
+				.takeWhile(x -> invocations.incrementAndGet() > 0);
+
+		//then
+		assertThat(invocations.get()).isZero();
+	}
+
+	@Test
+	public void shouldStopPullingSourceAfterTakeWhileFails() throws Exception {
+		//given
+		final AtomicInteger pulled = new AtomicInteger();
+		final LazySeq<Integer> source = iterate(1, x -> {
+			pulled.incrementAndGet();
+			return x + 1;
+		});
+
+		//when
+		final LazySeq<Integer> fused = source.map(x -> x * 10).takeWhile(x -> x <= 50).map(x -> x + 1);
+
+		//then
+		assertThat(fused).containsExactly(11, 21, 31, 41, 51);
+		assertThat(pulled.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldKeepMemoizedOutputAfterFurtherTransformation() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> mapped = numbers(1).map(x -> {
+			invocations.incrementAndGet();
+			return x * 2;
+		});
+		mapped.take(3).force();
+
+		//when
+		final LazySeq<Integer> doubled = mapped.map(x -> x * 2);
+
+		//then
+		assertThat(doubled.take(3)).containsExactly(4, 8, 12);
+		assertThat(invocations.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldHandleLongFusedPipelineWithSparseMatches() throws Exception {
+		//given
+		final LazySeq<Integer> naturals = numbers(0);
+
+		//when
+		final LazySeq<Integer> sparse = naturals
+				.map(x -> x + 1)
+				.filter(x -> x % 100_000 == 0)
+				.map(x -> x / 100_000)
+				.filter(x -> x % 2 == 0)
+				.map(x -> x * 10)
+				.takeWhile(x -> x < 100);
+
+		//then
+		assertThat(sparse).containsExactly(20, 40, 60, 80);
+	}
+
+}
@@ -0,0 +1,241 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.nurkiewicz.lazyseq.LazySeq.generate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqGenerateTest extends AbstractBaseTestCase {
+
+	private ExecutorService executor;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newCachedThreadPool();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldNotStartProducerUntilAccessed() throws Exception {
+		//given
+		final AtomicInteger started = new AtomicInteger();
+
+		//when
+		generate(yielder -> {
+			started.incrementAndGet();
+			yielder.yield(1);
+		});
+
+		//then
+		assertThat(started.get()).isZero();
+	}
+
+	@Test
+	public void shouldReturnYieldedElementsUntilProducerReturns() throws Exception {
+		//when
+		final LazySeq<Integer> seq = generate(yielder -> {
+			for (int i = 1; i <= 5; ++i) {
+				yielder.yield(i * i);
+			}
+		});
+
+		//then
+		assertThat(seq).containsExactly(1, 4, 9, 16, 25);
+	}
+
+	@Test
+	public void shouldHandOverElementsToConcurrentConsumers() throws Exception {
+		//given
+		final LazySeq<Integer> seq = generate(yielder -> {
+			for (int i = 0; i < 10_000; ++i) {
+				yielder.yield(i);
+			}
+		}, executor);
+
+		//when
+		final List<Future<Integer>> sums = executor.invokeAll(Collections.nCopies(4, () -> seq.reduce(0, Integer::sum)));
+
+		//then
+		for (Future<Integer> sum : sums) {
+			assertThat(sum.get(5, TimeUnit.SECONDS)).isEqualTo(49_995_000);
+		}
+	}
+
+	@Test
+	public void shouldReturnEmptySeqWhenNothingYielded() throws Exception {
+		assertThat(LazySeq.<Integer>generate(yielder -> {})).isEmpty();
+	}
+
+	@Test
+	public void shouldSuspendProducerUntilNextElementIsRequested() throws Exception {
+		//given
+		final AtomicInteger yielded = new AtomicInteger();
+		final LazySeq<Integer> naturals = generate(yielder -> {
+			for (int i = 0; ; ++i) {
+				yielded.incrementAndGet();
+				yielder.yield(i);
+			}
+		});
+
+		//when
+		final LazySeq<Integer> firstThree = naturals.take(3).force();
+		TimeUnit.MILLISECONDS.sleep(50);
+
+		//then
+		assertThat(firstThree).containsExactly(0, 1, 2);
+		assertThat(yielded.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldMemoizeYieldedElements() throws Exception {
+		//given
+		final AtomicInteger runs = new AtomicInteger();
+		final LazySeq<String> seq = generate(yielder -> {
+			runs.incrementAndGet();
+			yielder.yield("a");
+			yielder.yield("b");
+		});
+
+		//when
+		seq.force();
+
+		//then
+		assertThat(seq).containsExactly("a", "b");
+		assertThat(seq.size()).isEqualTo(2);
+		assertThat(runs.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldThrowProducerFailureWhenReached() throws Exception {
+		//given
+		final LazySeq<Integer> seq = generate(yielder -> {
+			yielder.yield(1);
+			yielder.yield(2);
+			throw new IllegalStateException("Producer failed");
+		});
+
+		//when
+		assertThat(seq.take(2)).containsExactly(1, 2);
+
+		//then
+		for (int attempt = 0; attempt < 2; ++attempt) {
+			try {
+				seq.size();
+				failBecauseExceptionWasNotThrown(IllegalStateException.class);
+			} catch (IllegalStateException e) {
+				assertThat(e).hasMessage("Producer failed");
+			}
+		}
+	}
+
+	@Test
+	public void shouldFailWhenNullYielded() throws Exception {
+		//given
+		final LazySeq<String> seq = generate(yielder -> {
+			yielder.yield("a");
+			yielder.yield(null);
+		});
+
+		//when
+		try {
+			seq.force();
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldRunProducerOnGivenExecutor() throws Exception {
+		//given
+		final AtomicReference<Thread> producerThread = new AtomicReference<>();
+
+		//when
+		final LazySeq<String> seq = generate(yielder -> {
+			producerThread.set(Thread.currentThread());
+			yielder.yield("x");
+		}, executor);
+
+		//then
+		assertThat(seq).containsExactly("x");
+		assertThat(producerThread.get()).isNotSameAs(Thread.currentThread());
+		assertThat(producerThread.get().getName()).startsWith("pool-");
+	}
+
+	@Test
+	public void shouldReleaseProducerOfAbandonedSeq() throws Exception {
+		//given
+		final CountDownLatch unwound = new CountDownLatch(1);
+		LazySeq<Integer> naturals = generate(yielder -> {
+			try {
+				for (int i = 0; ; ++i) {
+					yielder.yield(i);
+				}
+			} finally {
+				unwound.countDown();
+			}
+		}, executor);
+		assertThat(naturals.get(10)).isEqualTo(10);
+
+		//when
+		naturals = null;
+
+		//then
+		for (int attempt = 0; attempt < 50 && unwound.getCount() > 0; ++attempt) {
+			System.gc();
+			unwound.await(100, TimeUnit.MILLISECONDS);
+		}
+		assertThat(unwound.getCount()).isZero();
+	}
+
+	@Test
+	public void shouldReturnThreadsOfAbandonedProducersToBoundedPool() throws Exception {
+		//given
+		final ThreadPoolExecutor bounded = (ThreadPoolExecutor) Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 3; ++round) {
+				//when
+				assertThat(naturals(bounded).get(10)).isEqualTo(10);
+				assertThat(naturals(bounded).get(10)).isEqualTo(10);
+
+				//then
+				for (int attempt = 0; attempt < 50 && bounded.getActiveCount() > 0; ++attempt) {
+					System.gc();
+					TimeUnit.MILLISECONDS.sleep(100);
+				}
+				assertThat(bounded.getActiveCount()).isZero();
+			}
+		} finally {
+			bounded.shutdownNow();
+		}
+	}
+
+	private static LazySeq<Integer> naturals(Executor executor) {
+		return generate(yielder -> {
+			for (int i = 0; ; ++i) {
+				yielder.yield(i);
+			}
+		}, executor);
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.nurkiewicz.lazyseq.LazySeq.iterate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs in a separate surefire execution with small heap and interpreter only (see <code>pom.xml</code>),
+ * so traversal fails with {@link OutOfMemoryError} if visited cells stay reachable, regardless of JIT compilation.
+ */
+public class LazySeqHeadRetentionTest extends AbstractBaseTestCase {
+
+	private static final int PAYLOAD_BYTES = 1024;
+
+	/**
+	 * About 500 MiB of payloads, several times the forked heap.
+	 */
+	private static final int COUNT = 500_000;
+
+	@Test
+	public void shouldNotRetainHeadInForEach() throws Exception {
+		//given
+		final AtomicLong visited = new AtomicLong();
+
+		//when
+		LazySeq.forEach(oversized(), payload -> visited.incrementAndGet());
+
+		//then
+		assertThat(visited.get()).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainHeadInReduce() throws Exception {
+		//when
+		final long totalBytes = LazySeq.reduce(oversized(), 0L, (acc, payload) -> acc + payload.length);
+
+		//then
+		assertThat(totalBytes).isEqualTo((long) COUNT * PAYLOAD_BYTES);
+	}
+
+	@Test
+	public void shouldNotRetainHeadInSize() throws Exception {
+		//when
+		final int size = LazySeq.size(oversized());
+
+		//then
+		assertThat(size).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainHeadOfDeferredSeq() throws Exception {
+		//given
+		final AtomicLong visited = new AtomicLong();
+
+		//when
+		LazySeq.forEach(oversized().filter(payload -> payload.length > 0), payload -> visited.incrementAndGet());
+
+		//then
+		assertThat(visited.get()).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainHeadInStreamCollect() throws Exception {
+		//when
+		final long count = oversized().stream().collect(Collectors.counting());
+
+		//then
+		assertThat(count).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainHeadInStreamForEach() throws Exception {
+		//given
+		final AtomicLong visited = new AtomicLong();
+
+		//when
+		oversized().stream().map(payload -> payload.length).forEach(length -> visited.incrementAndGet());
+
+		//then
+		assertThat(visited.get()).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainHeadInIterator() throws Exception {
+		//given
+		long visited = 0;
+
+		//when
+		final Iterator<byte[]> iterator = oversized().iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			++visited;
+		}
+
+		//then
+		assertThat(visited).isEqualTo(COUNT);
+	}
+
+	private static LazySeq<byte[]> oversized() {
+		return iterate(new byte[PAYLOAD_BYTES], previous -> new byte[PAYLOAD_BYTES]).take(COUNT);
+	}
+
+}
@@ -0,0 +1,220 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
+import static com.nurkiewicz.lazyseq.LazySeq.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqMapAsyncTest extends AbstractBaseTestCase {
+
+	private ScheduledExecutorService scheduler;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startScheduler() {
+		scheduler = Executors.newScheduledThreadPool(2);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopScheduler() throws InterruptedException {
+		scheduler.shutdownNow();
+		scheduler.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldRejectNonPositiveMaxInFlight() throws Exception {
+		try {
+			numbers(1).mapAsync(CompletableFuture::completedFuture, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+		try {
+			numbers(1).mapAsyncUnordered(CompletableFuture::completedFuture, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldKeepSourceOrderRegardlessOfCompletionOrder() throws Exception {
+		//given
+		final LazySeq<Integer> delays = of(150, 10, 80, 0, 40);
+
+		//when
+		final LazySeq<String> enriched = delays.mapAsync(delay -> lookup("#" + delay, delay), 5);
+
+		//then
+		assertThat(enriched).containsExactly("#150", "#10", "#80", "#0", "#40");
+	}
+
+	@Test
+	public void shouldEmitInCompletionOrderWhenUnordered() throws Exception {
+		//given
+		final LazySeq<Integer> delays = of(400, 0, 200);
+
+		//when
+		final List<String> enriched = delays.mapAsyncUnordered(delay -> lookup("#" + delay, delay), 3).toList();
+
+		//then
+		assertThat(enriched).containsExactly("#0", "#200", "#400");
+	}
+
+	@Test
+	public void shouldNeverExceedMaxInFlight() throws Exception {
+		//given
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> enriched = numbers(0).take(40).mapAsync(x -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return lookup(x, 5).whenComplete((result, e) -> inFlight.decrementAndGet());
+		}, 4);
+
+		//then
+		assertThat(enriched.size()).isEqualTo(40);
+		assertThat(maxInFlight.get()).isBetween(1, 4);
+	}
+
+	@Test
+	public void shouldNotIssueRequestsBeyondTake() throws Exception {
+		//given
+		final ConcurrentMap<Integer, AtomicInteger> requests = new ConcurrentHashMap<>();
+		final LazySeq<Integer> enriched = numbers(0).mapAsync(x -> {
+			requests.computeIfAbsent(x, k -> new AtomicInteger()).incrementAndGet();
+			return lookup(x * 10, 0);
+		}, 8);
+
+		//when
+		final List<Integer> firstThree = enriched.take(3).toList();
+
+		//then
+		assertThat(firstThree).containsExactly(0, 10, 20);
+		assertThat(requests.keySet()).containsOnly(0, 1, 2);
+		assertThat(enriched.get(10)).isEqualTo(100);
+		for (AtomicInteger count : requests.values()) {
+			assertThat(count.get()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldNotIssueRequestsBeyondTakeWhenUnordered() throws Exception {
+		//given
+		final AtomicInteger requests = new AtomicInteger();
+
+		//when
+		final List<Integer> firstThree = numbers(0).mapAsyncUnordered(x -> {
+			requests.incrementAndGet();
+			return lookup(x, 0);
+		}, 8).take(3).toList();
+
+		//then
+		assertThat(firstThree).containsOnly(0, 1, 2);
+		assertThat(requests.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldThrowFailedLookupWhenReachedAndRetry() throws Exception {
+		//given
+		final AtomicInteger failures = new AtomicInteger();
+		final LazySeq<Integer> enriched = numbers(0).take(5).mapAsync(x -> {
+			if (x == 2 && failures.incrementAndGet() == 1) {
+				final CompletableFuture<Integer> failed = new CompletableFuture<>();
+				failed.completeExceptionally(new IllegalStateException("Lookup failed"));
+				return failed;
+			}
+			return lookup(x, 0);
+		}, 2);
+
+		//when
+		try {
+			enriched.force();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e).hasMessage("Lookup failed");
+		}
+
+		//then
+		assertThat(enriched).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	public void shouldAcceptTakeWhileAnotherThreadWaitsForLookup() throws Exception {
+		//given
+		final CompletableFuture<Integer> slow = new CompletableFuture<>();
+		final CountDownLatch requested = new CountDownLatch(1);
+		final LazySeq<Integer> enriched = numbers(0).mapAsync(x -> {
+			if (x == 0) {
+				requested.countDown();
+				return slow;
+			}
+			return lookup(x * 10, 0);
+		}, 4);
+		final CompletableFuture<Integer> head = CompletableFuture.supplyAsync(enriched::head, scheduler);
+		requested.await();
+
+		//when
+		final LazySeq<Integer> firstThree = enriched.take(3);
+
+		//then
+		assertThat(head.isDone()).isFalse();
+		slow.complete(0);
+		assertThat(firstThree).containsExactly(0, 10, 20);
+		assertThat(head.get(1, TimeUnit.SECONDS)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldShareResultsBetweenConcurrentReaders() throws Exception {
+		//given
+		final ConcurrentMap<Integer, AtomicInteger> requests = new ConcurrentHashMap<>();
+		final LazySeq<Integer> ordered = numbers(0).take(50).mapAsync(x -> {
+			requests.computeIfAbsent(x, k -> new AtomicInteger()).incrementAndGet();
+			return lookup(x, x % 3);
+		}, 4);
+		final LazySeq<Integer> unordered = numbers(100).take(50).mapAsyncUnordered(x -> {
+			requests.computeIfAbsent(x, k -> new AtomicInteger()).incrementAndGet();
+			return lookup(x, x % 3);
+		}, 4);
+		final ExecutorService readers = Executors.newFixedThreadPool(4);
+
+		//when
+		final List<Future<List<Integer>>> results = readers.invokeAll(Arrays.asList(
+				ordered::toList, ordered::toList, unordered::toList, unordered::toList));
+		readers.shutdown();
+
+		//then
+		assertThat(results.get(0).get()).containsExactly(numbers(0).take(50).toArray(new Integer[0]));
+		assertThat(results.get(1).get()).containsExactly(results.get(0).get().toArray(new Integer[0]));
+		assertThat(results.get(2).get()).hasSize(50).containsAll(numbers(100).take(50));
+		assertThat(results.get(3).get()).containsExactly(results.get(2).get().toArray(new Integer[0]));
+		assertThat(requests).hasSize(100);
+		for (AtomicInteger count : requests.values()) {
+			assertThat(count.get()).isEqualTo(1);
+		}
+	}
+
+	private <T> CompletableFuture<T> lookup(T result, long delayMillis) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		scheduler.schedule(() -> future.complete(result), delayMillis, TimeUnit.MILLISECONDS);
+		return future;
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqMemoizationTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldGenerateSameElementsAsStrongIterate() throws Exception {
+		assertThat(iterate(1, x -> x * 2, Memoization.SOFT).take(20)).isEqualTo(iterate(1, x -> x * 2).take(20));
+		assertThat(tabulate(3, i -> i * i, Memoization.SOFT).take(20)).isEqualTo(tabulate(3, i -> i * i).take(20));
+	}
+
+	@Test
+	public void shouldReturnStrongConsByDefault() throws Exception {
+		assertThat(cons(1, LazySeq::<Integer>empty, Memoization.STRONG)).isInstanceOf(Cons.class);
+		assertThat(cons(1, LazySeq::<Integer>empty, Memoization.SOFT)).isInstanceOf(SoftCons.class);
+	}
+
+	@Test
+	public void shouldMemoizeSoftTailUntilEvicted() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(1, x -> {
+			invocations.incrementAndGet();
+			return x + 1;
+		}, Memoization.SOFT);
+
+		//when
+		seq.take(10).force();
+		seq.take(10).force();
+
+		//then
+		assertThat(invocations.get()).isEqualTo(9);
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ?]");
+	}
+
+	@Test
+	public void shouldRecomputeEvictedTailFromNearestRetainedCell() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(1, x -> {
+			invocations.incrementAndGet();
+			return x + 1;
+		}, Memoization.SOFT);
+		seq.take(10).force();
+		final SoftCons<Integer> fifth = (SoftCons<Integer>) seq.drop(4);
+		final long evictionsBefore = Memoization.evictions();
+		final long recomputationsBefore = Memoization.recomputations();
+
+		//when
+		fifth.evictTail();
+
+		//then
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4, 5, ?]");
+		assertThat(seq.take(10)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		assertThat(invocations.get()).isEqualTo(9 + 5);
+		assertThat(Memoization.evictions()).isGreaterThanOrEqualTo(evictionsBefore + 1);
+		assertThat(Memoization.recomputations()).isGreaterThanOrEqualTo(recomputationsBefore + 1);
+	}
+
+	@Test
+	public void shouldRecomputeEvictedTabulationPage() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final Tabulation<Integer> tabulation = new Tabulation<>(0, i -> {
+			invocations.incrementAndGet();
+			return i * 3;
+		}, Memoization.SOFT);
+		final LazySeq<Integer> seq = RangeSeq.over(tabulation);
+		seq.get(5);
+		seq.get(5);
+		final long recomputationsBefore = Memoization.recomputations();
+
+		//when
+		tabulation.evictPageOf(5);
+
+		//then
+		assertThat(seq.get(5)).isEqualTo(15);
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(Memoization.recomputations()).isGreaterThanOrEqualTo(recomputationsBefore + 1);
+	}
+
+	@Test
+	public void shouldNeverEvictStrongTabulationPage() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final Tabulation<Integer> tabulation = new Tabulation<>(0, i -> {
+			invocations.incrementAndGet();
+			return i;
+		}, Memoization.STRONG);
+		final LazySeq<Integer> seq = RangeSeq.over(tabulation);
+		seq.get(7);
+
+		//when
+		tabulation.evictPageOf(7);
+
+		//then
+		assertThat(seq.get(7)).isEqualTo(7);
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldTransformSoftSeqLazily() throws Exception {
+		//given
+		final LazySeq<Integer> seq = iterate(1, x -> x + 1, Memoization.SOFT);
+
+		//when
+		final LazySeq<Integer> evens = seq.map(x -> x * 3).filter(x -> x % 2 == 0);
+
+		//then
+		assertThat(evens.take(3)).containsExactly(6, 12, 18);
+		assertThat(seq.flatMap(x -> of(x, x)).take(4)).containsExactly(1, 1, 2, 2);
+	}
+
+}
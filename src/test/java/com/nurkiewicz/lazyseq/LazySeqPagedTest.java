@@ -0,0 +1,221 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
+import static com.nurkiewicz.lazyseq.LazySeq.paged;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqPagedTest extends AbstractBaseTestCase {
+
+	private ExecutorService executor;
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+		requests.clear();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldRejectInvalidArguments() throws Exception {
+		try {
+			paged(records(10), 0, 1, executor);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+		try {
+			paged(records(10), 5, 0, executor);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldNotLoadAnythingUntilAccessed() throws Exception {
+		//when
+		paged(records(100), 5, 3, executor);
+
+		//then
+		assertThat(requests).isEmpty();
+	}
+
+	@Test
+	public void shouldReturnAllRecordsInOrder() throws Exception {
+		//when
+		final LazySeq<Integer> seq = paged(records(23), 5, 3, executor);
+
+		//then
+		assertThat(seq).isEqualTo(numbers(0).take(23));
+	}
+
+	@Test
+	public void shouldReturnEmptySeqWhenNothingToLoad() throws Exception {
+		assertThat(paged(records(0), 5, 3, executor)).isEmpty();
+	}
+
+	@Test
+	public void shouldMemoizeLoadedPages() throws Exception {
+		//given
+		final LazySeq<Integer> seq = paged(records(12), 5, 1, executor);
+		seq.force();
+		final int loaded = requests.size();
+
+		//when
+		final int size = seq.size();
+
+		//then
+		assertThat(size).isEqualTo(12);
+		assertThat(requests).hasSize(loaded);
+	}
+
+	@Test
+	public void shouldLoadIndependentPagesConcurrently() throws Exception {
+		//given
+		final CountDownLatch allStarted = new CountDownLatch(3);
+		final PageLoader<Integer> loader = (offset, limit) -> {
+			allStarted.countDown();
+			try {
+				if (!allStarted.await(1, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("Pages loaded sequentially");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return records(1_000).load(offset, limit);
+		};
+
+		//when
+		final Integer head = paged(loader, 10, 3, executor).head();
+
+		//then
+		assertThat(head).isEqualTo(0);
+		assertThat(allStarted.getCount()).isZero();
+	}
+
+	@Test
+	public void shouldGrowPageSizeWhenConsumerWaitsForPages() throws Exception {
+		//given
+		final PageLoader<Integer> slow = (offset, limit) -> {
+			sleep(20);
+			return records(10_000).load(offset, limit);
+		};
+
+		//when
+		final LazySeq<Integer> seq = paged(slow, 4, 1, executor);
+		seq.take(500).force();
+
+		//then
+		final List<Integer> limits = requestedLimits();
+		assertThat(limits.get(0)).isEqualTo(4);
+		assertThat(limits.get(limits.size() - 1)).isEqualTo(4 * PagedSource.MAX_GROWTH);
+		assertThat(limits.size()).isLessThan(500 / 4);
+	}
+
+	@Test
+	public void shouldPropagateLoaderFailureAndRetryPage() throws Exception {
+		//given
+		final AtomicInteger attempts = new AtomicInteger();
+		final PageLoader<Integer> flaky = (offset, limit) -> {
+			if (offset == 5 && attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("Timeout");
+			}
+			return records(12).load(offset, limit);
+		};
+		final LazySeq<Integer> seq = paged(flaky, 5, 1, executor);
+
+		//when
+		try {
+			seq.get(7);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e).hasMessage("Timeout");
+		}
+
+		//then
+		assertThat(seq.get(7)).isEqualTo(7);
+		assertThat(seq.size()).isEqualTo(12);
+	}
+
+	@Test
+	public void shouldFailPageWhenLoaderReturnsNull() throws Exception {
+		//given
+		final LazySeq<Integer> seq = paged((offset, limit) -> offset == 5 ? null : records(12).load(offset, limit), 5, 1, executor);
+
+		//when
+		try {
+			seq.get(7);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+			assertThat(e.getMessage()).contains("offset 5");
+			assertThat(seq.take(5)).isEqualTo(numbers(0).take(5));
+		}
+	}
+
+	@Test
+	public void shouldFailPageWhenLoaderReturnsMoreThanLimit() throws Exception {
+		//given
+		final LazySeq<Integer> seq = paged((offset, limit) -> records(100).load(offset, offset == 5 ? limit + 1 : limit), 5, 1, executor);
+
+		//when
+		try {
+			seq.get(7);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+			assertThat(e.getMessage()).contains("offset 5");
+			assertThat(seq.take(5)).isEqualTo(numbers(0).take(5));
+		}
+	}
+
+	private PageLoader<Integer> records(int total) {
+		return (offset, limit) -> {
+			requests.add(offset + "," + limit);
+			final List<Integer> page = new ArrayList<>();
+			for (long i = offset; i < Math.min(total, offset + limit); ++i) {
+				page.add((int) i);
+			}
+			return page;
+		};
+	}
+
+	private List<Integer> requestedLimits() {
+		final List<Integer> limits = new ArrayList<>();
+		synchronized (requests) {
+			for (String request : requests) {
+				limits.add(Integer.parseInt(request.substring(request.indexOf(',') + 1)));
+			}
+		}
+		return limits;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
+import static com.nurkiewicz.lazyseq.LazySeq.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqParMapTest extends AbstractBaseTestCase {
+
+	private ForkJoinPool pool;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopPool() throws InterruptedException {
+		pool.shutdownNow();
+		pool.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldRejectNonPositiveParallelism() throws Exception {
+		try {
+			numbers(1).parMap(x -> x, 0, pool);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldNotInvokeMapperUntilAccessed() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		numbers(1).parMap(x -> invocations.incrementAndGet(), 4, pool);
+
+		//then
+		assertThat(invocations.get()).isZero();
+	}
+
+	@Test
+	public void shouldDeliverResultsInSourceOrder() throws Exception {
+		//when
+		final LazySeq<Integer> doubled = numbers(1).take(200).parMap(x -> {
+			if (x % 7 == 0) {
+				sleep(2);
+			}
+			return x * 2;
+		}, 4, pool);
+
+		//then
+		assertThat(doubled).isEqualTo(numbers(1).take(200).map(x -> x * 2));
+	}
+
+	@Test
+	public void shouldMapEmptyAndFiniteSeq() throws Exception {
+		assertThat(LazySeq.<Integer>empty().parMap(x -> x, 4, pool)).isEmpty();
+		assertThat(of(1, 2, 3).parMap(x -> "<" + x + ">", 8, pool)).containsExactly("<1>", "<2>", "<3>");
+	}
+
+	@Test
+	public void shouldRunInvocationsConcurrently() throws Exception {
+		//given
+		final CountDownLatch allStarted = new CountDownLatch(4);
+
+		//when
+		final LazySeq<Integer> mapped = numbers(0).parMap(x -> {
+			allStarted.countDown();
+			try {
+				if (!allStarted.await(1, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("Mapper invoked sequentially");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return x;
+		}, 4, pool);
+
+		//then
+		assertThat(mapped.head()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldKeepAtMostParallelismInvocationsAheadOfConsumerOnInfiniteSeq() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> mapped = numbers(0).parMap(x -> {
+			invocations.incrementAndGet();
+			return x * x;
+		}, 3, pool);
+
+		//when
+		final LazySeq<Integer> firstTen = mapped.take(10).force();
+		pool.awaitQuiescence(1, TimeUnit.SECONDS);
+
+		//then
+		assertThat(firstTen).containsExactly(0, 1, 4, 9, 16, 25, 36, 49, 64, 81);
+		assertThat(invocations.get()).isLessThanOrEqualTo(10 + 3);
+	}
+
+	@Test
+	public void shouldThrowMapperFailureWhenReachedAndRetry() throws Exception {
+		//given
+		final AtomicInteger failures = new AtomicInteger();
+		final LazySeq<Integer> mapped = numbers(0).parMap(x -> {
+			if (x == 5 && failures.incrementAndGet() == 1) {
+				throw new IllegalStateException("Failed on " + x);
+			}
+			return x;
+		}, 3, pool);
+
+		//when
+		try {
+			mapped.get(5);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e).hasMessage("Failed on 5");
+		}
+
+		//then
+		assertThat(mapped.get(5)).isEqualTo(5);
+		assertThat(mapped.take(8)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+	}
+
+	@Test
+	public void shouldAcceptTakeWhileAnotherThreadWaitsForMapper() throws Exception {
+		//given
+		final CountDownLatch mapping = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final LazySeq<Integer> mapped = numbers(0).parMap(x -> {
+			mapping.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return x;
+		}, 2, pool);
+		final ForkJoinTask<Integer> head = pool.submit(mapped::head);
+		mapping.await();
+
+		//when
+		final LazySeq<Integer> firstThree = mapped.take(3);
+
+		//then
+		assertThat(head.isDone()).isFalse();
+		release.countDown();
+		assertThat(firstThree).containsExactly(0, 1, 2);
+		assertThat(head.get(1, TimeUnit.SECONDS)).isEqualTo(0);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.nurkiewicz.lazyseq.LazySeq.numbers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqParallelStreamTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldReturnParallelStream() throws Exception {
+		assertThat(numbers(1).parallelStream().isParallel()).isTrue();
+		assertThat(numbers(1).stream().parallel().isParallel()).isTrue();
+		assertThat(numbers(1).stream().isParallel()).isFalse();
+	}
+
+	@Test
+	public void shouldProduceSameResultsAsSequentialMapAndFilter() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(1).take(100_000);
+
+		//when
+		final List<Integer> parallel = seq.parallelStream().map(x -> x * 3).filter(x -> x % 2 == 0).collect(Collectors.toList());
+		final List<Integer> sequential = seq.stream().map(x -> x * 3).filter(x -> x % 2 == 0).collect(Collectors.toList());
+
+		//then
+		assertThat(parallel).isEqualTo(sequential);
+	}
+
+	@Test
+	public void shouldHonourEncounterOrderInForEachOrdered() throws Exception {
+		//given
+		final List<Integer> visited = new CopyOnWriteArrayList<>();
+
+		//when
+		numbers(0).take(10_000).parallelStream().map(x -> x + 1).forEachOrdered(visited::add);
+
+		//then
+		assertThat(visited).isEqualTo(numbers(1).take(10_000));
+	}
+
+	@Test
+	public void shouldLimitInfiniteSeqInParallel() throws Exception {
+		//given
+		final Stream<Integer> naturals = numbers(0).parallelStream();
+
+		//when
+		final List<Integer> firstEven = naturals.filter(x -> x % 2 == 0).limit(5).collect(Collectors.toList());
+
+		//then
+		assertThat(firstEven).containsExactly(0, 2, 4, 6, 8);
+	}
+
+	@Test
+	public void shouldRunOnCallerSuppliedPool() throws Exception {
+		//given
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+		//when
+		final long sum = pool.submit(() -> numbers(1).take(10_000).parallelStream()
+				.peek(x -> workers.add(Thread.currentThread()))
+				.mapToLong(x -> x)
+				.sum()).get();
+		pool.shutdown();
+
+		//then
+		assertThat(sum).isEqualTo(50_005_000L);
+		assertThat(workers).isNotEmpty();
+		for (Thread worker : workers) {
+			assertThat(worker.getName()).startsWith("ForkJoinPool-");
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqPrefetchTest extends AbstractBaseTestCase {
+
+	private ExecutorService executor;
+
+	@BeforeMethod(alwaysRun = true)
+	public void startExecutor() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopExecutor() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void shouldRejectNonPositiveDepth() throws Exception {
+		try {
+			numbers(1).prefetch(0, executor);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldEvaluateUpToDepthTailsAheadInBackground() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(0, x -> {
+			evaluated.incrementAndGet();
+			return x + 1;
+		});
+
+		//when
+		final LazySeq<Integer> prefetched = seq.prefetch(3, executor);
+		awaitIdle();
+
+		//then
+		assertThat(evaluated.get()).isEqualTo(3);
+		assertThat(seq.toString()).isEqualTo("[0, 1, 2, 3, ?]");
+		prefetched.drop(2).head();
+		awaitIdle();
+		assertThat(evaluated.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldEvaluateEachTailExactlyOnce() throws Exception {
+		//given
+		final ConcurrentMap<Integer, AtomicInteger> evaluations = new ConcurrentHashMap<>();
+		final LazySeq<Integer> seq = iterate(0, x -> {
+			evaluations.computeIfAbsent(x, k -> new AtomicInteger()).incrementAndGet();
+			return x + 1;
+		});
+
+		//when
+		final List<Integer> consumed = seq.prefetch(10, executor).take(1_000).toList();
+		awaitIdle();
+
+		//then
+		assertThat(consumed).hasSize(1_000);
+		for (int i = 0; i < consumed.size(); ++i) {
+			assertThat(consumed.get(i)).isEqualTo(i);
+		}
+		assertThat(evaluations.size()).isGreaterThanOrEqualTo(999);
+		for (AtomicInteger count : evaluations.values()) {
+			assertThat(count.get()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldReportSupplierFailureOnlyWhenReached() throws Exception {
+		//given
+		final LazySeq<Integer> prefetched = failingAfter(0, 5).prefetch(10, executor);
+		awaitIdle();
+
+		//when
+		final List<Integer> firstFive = prefetched.take(5).toList();
+
+		//then
+		assertThat(firstFive).containsExactly(0, 1, 2, 3, 4);
+		try {
+			prefetched.drop(5);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e).hasMessage("Broken at 5");
+		}
+	}
+
+	@Test
+	public void shouldStopAtTheEndOfFiniteSequence() throws Exception {
+		//when
+		final LazySeq<Integer> prefetched = of(1, 2, 3).prefetch(10, executor);
+		awaitIdle();
+
+		//then
+		assertThat(prefetched).containsExactly(1, 2, 3);
+		assertThat(prefetched.map(x -> x * 2)).containsExactly(2, 4, 6);
+		assertThat(empty().prefetch(2, executor)).isEmpty();
+	}
+
+	@Test
+	public void shouldOverlapProducerAndConsumer() throws Exception {
+		//given
+		final int count = 8;
+		final LazySeq<Integer> slow = iterate(0, x -> {
+			sleep(50);
+			return x + 1;
+		}).take(count);
+
+		//when
+		final long start = System.currentTimeMillis();
+		slow.prefetch(2, executor).forEach(x -> sleep(50));
+		final long elapsed = System.currentTimeMillis() - start;
+
+		//then
+		assertThat(elapsed).isLessThan(count * 100 - 150);
+	}
+
+	private static LazySeq<Integer> failingAfter(int cur, int limit) {
+		return cons(cur, () -> {
+			if (cur + 1 == limit) {
+				throw new IllegalStateException("Broken at " + limit);
+			}
+			return failingAfter(cur + 1, limit);
+		});
+	}
+
+	private void awaitIdle() throws Exception {
+		executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
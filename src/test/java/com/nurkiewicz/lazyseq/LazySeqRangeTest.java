@@ -0,0 +1,242 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqRangeTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldCreateBoundedRange() throws Exception {
+		assertThat(range(0, 5, 1)).containsExactly(0L, 1L, 2L, 3L, 4L);
+		assertThat(range(0, 10, 3)).containsExactly(0L, 3L, 6L, 9L);
+		assertThat(range(10, 0, -4)).containsExactly(10L, 6L, 2L);
+		assertThat(range(5, 5, 1)).isEmpty();
+		assertThat(range(5, 0, 1)).isEmpty();
+		assertThat(range(0, 5, -1)).isEmpty();
+	}
+
+	@Test
+	public void shouldRejectZeroStep() throws Exception {
+		try {
+			range(0, 10, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldRejectRangeLongerThanLongMaxValue() throws Exception {
+		try {
+			range(Long.MIN_VALUE, Long.MAX_VALUE, 1);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+		try {
+			range(Long.MAX_VALUE, Long.MIN_VALUE, -2);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldHandleRangesSpanningWholeLongDomain() throws Exception {
+		//given
+		final LazySeq<Long> odd = range(Long.MIN_VALUE + 1, Long.MAX_VALUE, 2);
+		final LazySeq<Long> descending = range(Long.MAX_VALUE, Long.MIN_VALUE, -3);
+
+		//then
+		assertThat(odd.knownSize()).isEqualTo(Long.MAX_VALUE);
+		assertThat(odd.take(2)).containsExactly(Long.MIN_VALUE + 1, Long.MIN_VALUE + 3);
+		assertThat(odd.drop(Long.MAX_VALUE - 1)).containsExactly(Long.MAX_VALUE - 2);
+		assertThat(odd.contains(Long.MAX_VALUE - 2)).isTrue();
+		assertThat(odd.contains(Long.MAX_VALUE)).isFalse();
+		assertThat(descending.head()).isEqualTo(Long.MAX_VALUE);
+		assertThat(descending.drop(descending.knownSize() - 1)).containsExactly(Long.MIN_VALUE + 3);
+	}
+
+	@Test
+	public void shouldIncludeRangeEndsAtLongMinAndMaxValue() throws Exception {
+		assertThat(range(Long.MAX_VALUE - 2, Long.MAX_VALUE, 1)).containsExactly(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+		assertThat(range(Long.MIN_VALUE, Long.MIN_VALUE + 2, 1)).containsExactly(Long.MIN_VALUE, Long.MIN_VALUE + 1);
+		assertThat(range(Long.MAX_VALUE, Long.MAX_VALUE - 2, -1)).containsExactly(Long.MAX_VALUE, Long.MAX_VALUE - 1);
+		assertThat(range(Long.MIN_VALUE + 2, Long.MIN_VALUE, -1)).containsExactly(Long.MIN_VALUE + 2, Long.MIN_VALUE + 1);
+	}
+
+	@Test
+	public void shouldComputeSizeArithmetically() throws Exception {
+		assertThat(range(0, 1_000_000_000_000L, 7).knownSize()).isEqualTo(142_857_142_858L);
+		assertThat(range(0, 1_000_000_000_000L, 7).size()).isEqualTo(Integer.MAX_VALUE);
+		assertThat(range(-3, 4, 2).size()).isEqualTo(4);
+		assertThat(range(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE).size()).isEqualTo(3);
+		assertThat(numbers(0).take(1_000).size()).isEqualTo(1_000);
+		assertThat(numbers(0).drop(10).take(5).size()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldAccessFarElementsWithoutWalking() throws Exception {
+		//given
+		final LazySeq<Long> longs = range(0, Long.MAX_VALUE, 3);
+
+		//then
+		assertThat(longs.get(2_000_000_000)).isEqualTo(6_000_000_000L);
+		assertThat(longs.drop(4_000_000_000_000L).head()).isEqualTo(12_000_000_000_000L);
+		assertThat(longs.slice(1_000_000_000_000L, 1_000_000_000_003L)).containsExactly(3_000_000_000_000L, 3_000_000_000_003L, 3_000_000_000_006L);
+		assertThat(numbers(0.0, 0.25).get(1_000_000)).isEqualTo(250_000.0);
+	}
+
+	@Test
+	public void shouldComputeDoublesWithoutAccumulatingRoundingErrors() throws Exception {
+		//given
+		final LazySeq<Double> tenths = numbers(0.0, 0.1);
+
+		//then
+		assertThat(tenths.get(10)).isEqualTo(1.0);
+		assertThat(tenths.get(3)).isEqualTo(0.30000000000000004);
+		assertThat(tenths.drop(10).head()).isEqualTo(1.0);
+	}
+
+	@Test
+	public void shouldThrowWhenIndexBeyondBoundedRange() throws Exception {
+		//given
+		final LazySeq<Long> longs = range(0, 10, 1);
+
+		//when
+		try {
+			longs.get(10);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+			assertThat(longs.drop(10)).isEmpty();
+			assertThat(longs.drop(9)).containsExactly(9L);
+		}
+	}
+
+	@Test
+	public void shouldWrapAroundLikeRepeatedAddition() throws Exception {
+		//given
+		final LazySeq<Integer> nearOverflow = numbers(Integer.MAX_VALUE - 1);
+
+		//then
+		assertThat(nearOverflow.take(4)).containsExactly(Integer.MAX_VALUE - 1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1);
+	}
+
+	@Test
+	public void shouldFindElementsArithmetically() throws Exception {
+		//given
+		final LazySeq<Long> odd = range(1, 1_000_000_000_001L, 2);
+
+		//then
+		assertThat(odd.contains(999_999_999_999L)).isTrue();
+		assertThat(odd.contains(1_000_000_000_001L)).isFalse();
+		assertThat(odd.contains(4L)).isFalse();
+		assertThat(odd.contains(-1L)).isFalse();
+		assertThat(odd.contains(5)).isFalse();
+		assertThat(odd.indexOf(21L)).isEqualTo(10);
+		assertThat(odd.drop(5).indexOf(21L)).isEqualTo(5);
+		assertThat(odd.drop(20).indexOf(21L)).isEqualTo(-1);
+		assertThat(range(10, 0, -2).indexOf(4L)).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldFindElementsInRangesWiderThanLongMaxValue() throws Exception {
+		//given
+		final LazySeq<Long> ascending = range(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+		final LazySeq<Long> descending = range(Long.MAX_VALUE, Long.MIN_VALUE, -3);
+		final long far = 4_000_000_000_000_000_000L;
+
+		//then
+		assertThat(ascending.contains(Long.MIN_VALUE + 3 * far)).isTrue();
+		assertThat(ascending.contains(Long.MIN_VALUE + 3 * far + 1)).isFalse();
+		assertThat(ascending.contains(Long.MIN_VALUE - 3)).isFalse();
+		assertThat(ascending.drop(far).head()).isEqualTo(Long.MIN_VALUE + 3 * far);
+		assertThat(ascending.drop(far).indexOf(Long.MIN_VALUE + 3 * far)).isEqualTo(0);
+		assertThat(descending.contains(Long.MAX_VALUE - 3 * far)).isTrue();
+		assertThat(descending.contains(Long.MAX_VALUE - 3 * far - 1)).isFalse();
+		assertThat(descending.contains(Long.MAX_VALUE + 3)).isFalse();
+		assertThat(descending.drop(far).indexOf(Long.MAX_VALUE - 3 * far)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldFindElementsInInfiniteIntProgression() throws Exception {
+		assertThat(numbers(1).contains(1_000_000)).isTrue();
+		assertThat(numbers(1).indexOf(1_000_000)).isEqualTo(999_999);
+		assertThat(numbers(0, 2).contains(7)).isFalse();
+		assertThat(numbers(0, 2).indexOf(2_000)).isEqualTo(1_000);
+		assertThat(numbers(5, 0).indexOf(5)).isEqualTo(0);
+		assertThat(numbers(5, 0).contains(6)).isFalse();
+		assertThat(numbers(0, 3).contains(-3)).isTrue();
+		assertThat(numbers(0, 3).indexOf(-3)).isEqualTo(-1);
+		assertThat(numbers(0, 3).drop(10).indexOf(33)).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldFindElementsInDoubleProgression() throws Exception {
+		assertThat(numbers(1.0, 0.5).indexOf(3.0)).isEqualTo(4);
+		assertThat(numbers(1.0, 0.5).contains(3.25)).isFalse();
+		assertThat(numbers(1.0, 0.5).contains(0.5)).isFalse();
+		assertThat(numbers(1.0, 0.5).contains(3)).isFalse();
+	}
+
+	@Test
+	public void shouldShowOnlyReachedPrefixInToString() throws Exception {
+		//given
+		final LazySeq<Long> longs = range(0, 100, 1);
+		assertThat(longs.toString()).isEqualTo("[0, ?]");
+
+		//when
+		longs.take(3).force();
+
+		//then
+		assertThat(longs.toString()).isEqualTo("[0, 1, 2, ?]");
+		assertThat(range(0, 3, 1).force().toString()).isEqualTo("[0, 1, 2]");
+	}
+
+	@Test
+	public void shouldSplitBoundedRangeInHalves() throws Exception {
+		//given
+		final Spliterator<Long> spliterator = range(0, 1_000_000_000_000L, 1).spliterator();
+
+		//when
+		final Spliterator<Long> prefix = spliterator.trySplit();
+
+		//then
+		assertThat(prefix.getExactSizeIfKnown()).isEqualTo(500_000_000_000L);
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(500_000_000_000L);
+		prefix.tryAdvance(x -> assertThat(x).isEqualTo(0L));
+		spliterator.tryAdvance(x -> assertThat(x).isEqualTo(500_000_000_000L));
+	}
+
+	@Test
+	public void shouldSumInParallel() throws Exception {
+		assertThat(range(1, 1_000_001, 1).parallelStream().mapToLong(x -> x).sum()).isEqualTo(500_000_500_000L);
+		assertThat(numbers(1).take(1000).parallelStream().mapToInt(x -> x).sum()).isEqualTo(500_500);
+	}
+
+	@Test
+	public void shouldMapAndFilterLazily() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final LazySeq<Long> squares = range(0, Long.MAX_VALUE, 1)
+				.map(x -> {
+					invocations.incrementAndGet();
+					return x * x;
+				})
+				.filter(x -> x % 2 == 1);
+
+		//then
+		assertThat(invocations.get()).isZero();
+		assertThat(squares.take(3)).containsExactly(1L, 9L, 25L);
+	}
+
+}
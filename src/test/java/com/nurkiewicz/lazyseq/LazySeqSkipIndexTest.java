@@ -0,0 +1,200 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqSkipIndexTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldRejectNonPositiveInterval() throws Exception {
+		try {
+			numbers(1).withSkipIndex(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldReturnSameElementsAsUnderlying() throws Exception {
+		//given
+		final LazySeq<Integer> indexed = numbers(0).withSkipIndex(16);
+
+		//then
+		assertThat(indexed.get(0)).isEqualTo(0);
+		assertThat(indexed.get(1000)).isEqualTo(1000);
+		assertThat(indexed.get(15)).isEqualTo(15);
+		assertThat(indexed.get(16)).isEqualTo(16);
+		assertThat(indexed.drop(500).take(3)).containsExactly(500, 501, 502);
+		assertThat(indexed.slice(990, 993)).containsExactly(990, 991, 992);
+		assertThat(indexed.take(5)).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	public void shouldNotEvaluateUnderlyingWhenCreated() throws Exception {
+		//given
+		final AtomicInteger generated = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> indexed = iterate(0, x -> {
+			generated.incrementAndGet();
+			return x + 1;
+		}).withSkipIndex(8);
+
+		//then
+		assertThat(indexed.toString()).isEqualTo("[0, ?]");
+		assertThat(generated.get()).isZero();
+	}
+
+	@Test
+	public void shouldWalkAtMostIntervalCellsOnRepeatedAccess() throws Exception {
+		//given
+		final CountingSeq counting = new CountingSeq(numbers(0));
+		final LazySeq<Integer> indexed = counting.withSkipIndex(32);
+		indexed.get(10_000);
+		counting.tails.set(0);
+
+		//when
+		final int element = indexed.get(9_999);
+
+		//then
+		assertThat(element).isEqualTo(9_999);
+		assertThat(counting.tails.get()).isLessThan(32);
+	}
+
+	@Test
+	public void shouldShareIndexWithTailsAndDroppedSeqs() throws Exception {
+		//given
+		final CountingSeq counting = new CountingSeq(numbers(0));
+		final LazySeq<Integer> indexed = counting.withSkipIndex(32);
+		indexed.get(10_000);
+		counting.tails.set(0);
+
+		//when
+		final LazySeq<Integer> dropped = indexed.tail().drop(5_000);
+
+		//then
+		assertThat(dropped.get(4_000)).isEqualTo(9_001);
+		assertThat(counting.tails.get()).isLessThan(2 * 32);
+	}
+
+	@Test
+	public void shouldRecordCheckpointsInForEach() throws Exception {
+		//given
+		final CountingSeq counting = new CountingSeq(numbers(0).take(10_001));
+		final LazySeq<Integer> indexed = counting.withSkipIndex(32);
+		final AtomicInteger visited = new AtomicInteger();
+		indexed.forEach(x -> visited.incrementAndGet());
+		counting.tails.set(0);
+
+		//when
+		final int element = indexed.get(9_999);
+
+		//then
+		assertThat(visited.get()).isEqualTo(10_001);
+		assertThat(element).isEqualTo(9_999);
+		assertThat(counting.tails.get()).isLessThan(32);
+	}
+
+	@Test
+	public void shouldRecordCheckpointsInIterator() throws Exception {
+		//given
+		final CountingSeq counting = new CountingSeq(numbers(0));
+		final LazySeq<Integer> indexed = counting.withSkipIndex(32);
+		final Iterator<Integer> iterator = indexed.iterator();
+		for (int i = 0; i <= 10_000; ++i) {
+			iterator.next();
+		}
+		counting.tails.set(0);
+
+		//when
+		final int element = indexed.get(9_999);
+
+		//then
+		assertThat(element).isEqualTo(9_999);
+		assertThat(counting.tails.get()).isLessThan(32);
+	}
+
+	@Test
+	public void shouldThrowWhenIndexBeyondFiniteSeq() throws Exception {
+		//given
+		final LazySeq<Integer> indexed = numbers(0).take(100).withSkipIndex(10);
+
+		//when
+		try {
+			indexed.get(100);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+			assertThat(indexed.get(99)).isEqualTo(99);
+			assertThat(indexed.drop(100)).isEmpty();
+			assertThat(indexed.drop(200)).isEmpty();
+		}
+	}
+
+	@Test
+	public void shouldServeConcurrentLookups() throws Exception {
+		//given
+		final LazySeq<Integer> indexed = numbers(0).withSkipIndex(64);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final List<Callable<Boolean>> lookups = new ArrayList<>();
+		for (int t = 0; t < 8; ++t) {
+			final int seed = t;
+			lookups.add(() -> {
+				for (int i = 0; i < 2_000; ++i) {
+					final int target = (i * 7919 + seed * 104_729) % 50_000;
+					if (indexed.get(target) != target) {
+						return false;
+					}
+				}
+				return true;
+			});
+		}
+
+		//when
+		final List<Future<Boolean>> results = executor.invokeAll(lookups);
+		executor.shutdown();
+
+		//then
+		for (Future<Boolean> result : results) {
+			assertThat(result.get()).isTrue();
+		}
+	}
+
+	/**
+	 * Counts how many times {@link #tail()} was called on any of its cells.
+	 */
+	private static class CountingSeq extends DeferredSeq<Integer> {
+
+		final AtomicInteger tails;
+
+		CountingSeq(LazySeq<Integer> underlying) {
+			this(underlying, new AtomicInteger());
+		}
+
+		private CountingSeq(LazySeq<Integer> underlying, AtomicInteger tails) {
+			super(() -> underlying);
+			this.tails = tails;
+		}
+
+		@Override
+		public LazySeq<Integer> tail() {
+			tails.incrementAndGet();
+			final LazySeq<Integer> tail = super.tail();
+			return tail.isEmpty() ? tail : new CountingSeq(tail, tails);
+		}
+	}
+
+}
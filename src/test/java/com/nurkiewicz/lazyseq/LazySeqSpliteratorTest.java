@@ -0,0 +1,151 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqSpliteratorTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldReportOrderedNonNullImmutable() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(1).spliterator();
+
+		//then
+		assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+		assertThat(spliterator.hasCharacteristics(Spliterator.NONNULL)).isTrue();
+		assertThat(spliterator.hasCharacteristics(Spliterator.IMMUTABLE)).isTrue();
+	}
+
+	@Test
+	public void shouldNotBeSizedWhenInfinite() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(1).spliterator();
+
+		//then
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isFalse();
+		assertThat(spliterator.estimateSize()).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void shouldNotBeSizedWhenFiniteButNotEvaluated() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = iterate(1, x -> x + 1).take(10).spliterator();
+
+		//then
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isFalse();
+	}
+
+	@Test
+	public void shouldBeSizedWhenFullyEvaluated() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(1).take(10).force();
+
+		//when
+		final Spliterator<Integer> spliterator = seq.spliterator();
+
+		//then
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldBeSizedWhenEmpty() throws Exception {
+		assertThat(empty().spliterator().getExactSizeIfKnown()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotForceDeferredSeqWhenComputingSize() throws Exception {
+		//given
+		final LazySeq<Integer> filtered = of(1, 2, 3).filter(x -> {
+			throw new IllegalStateException("Should not be called");
+		});
+
+		//then
+		assertThat(filtered.spliterator().estimateSize()).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void shouldTraverseOneByOne() throws Exception {
+		//given
+		final Spliterator<Character> spliterator = of('a', 'b', 'c').spliterator();
+		final List<Character> visited = new ArrayList<>();
+
+		//when
+		while (spliterator.tryAdvance(visited::add)) {
+		}
+
+		//then
+		assertThat(visited).containsExactly('a', 'b', 'c');
+	}
+
+	@Test
+	public void shouldSplitOffBatchFromInfiniteSeq() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(0).spliterator();
+
+		//when
+		final Spliterator<Integer> prefix = spliterator.trySplit();
+
+		//then
+		assertThat(prefix.getExactSizeIfKnown()).isEqualTo(LazySeqSpliterator.BATCH_UNIT);
+		final List<Integer> first = new ArrayList<>();
+		prefix.forEachRemaining(first::add);
+		assertThat(first).isEqualTo(numbers(0).take(LazySeqSpliterator.BATCH_UNIT));
+		spliterator.tryAdvance(x -> assertThat(x).isEqualTo(LazySeqSpliterator.BATCH_UNIT));
+	}
+
+	@Test
+	public void shouldKeepSizeWhenSplittingSizedSeq() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = iterate(0, x -> x + 1).take(1500).force().spliterator();
+
+		//when
+		final Spliterator<Integer> prefix = spliterator.trySplit();
+
+		//then
+		assertThat(prefix.getExactSizeIfKnown()).isEqualTo(1024);
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(476);
+	}
+
+	@Test
+	public void shouldNotSplitSingleElement() throws Exception {
+		assertThat(of(1).force().spliterator().trySplit()).isNull();
+		assertThat(empty().spliterator().trySplit()).isNull();
+	}
+
+	@Test
+	public void shouldWorkWithStreamSupport() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(1).take(5000);
+
+		//when
+		final List<Integer> sequential = StreamSupport.stream(seq.spliterator(), false).collect(Collectors.toList());
+		final List<Integer> parallel = StreamSupport.stream(seq.spliterator(), true).map(x -> x * 2).collect(Collectors.toList());
+
+		//then
+		assertThat(sequential).isEqualTo(seq);
+		assertThat(parallel).isEqualTo(seq.map(x -> x * 2));
+	}
+
+	@Test
+	public void shouldExposeSpliteratorFromStream() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(1).take(3).stream().spliterator();
+		final List<Integer> visited = new ArrayList<>();
+
+		//when
+		spliterator.forEachRemaining(visited::add);
+
+		//then
+		assertThat(visited).containsExactly(1, 2, 3);
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.nurkiewicz.lazyseq.LazySeq.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySeqStackSafetyTest extends AbstractBaseTestCase {
+
+	private static final int HUGE = 10_000_000;
+	private static final int LARGE = 1_000_000;
+
+	private static LazySeq<Integer> huge() {
+		return iterate(0, x -> x + 1, 1024).take(HUGE);
+	}
+
+	@Test
+	public void shouldComputeSizeOfHugeSeq() throws Exception {
+		assertThat(huge().size()).isEqualTo(HUGE);
+	}
+
+	@Test
+	public void shouldIterateOverHugeSeqWithForEach() throws Exception {
+		//given
+		final AtomicLong sum = new AtomicLong();
+
+		//when
+		huge().forEach(sum::addAndGet);
+
+		//then
+		assertThat(sum.get()).isEqualTo((long) HUGE * (HUGE - 1) / 2);
+	}
+
+	@Test
+	public void shouldFindLastElementOfHugeSeqWithAnyMatch() throws Exception {
+		assertThat(huge().anyMatch(x -> x == HUGE - 1)).isTrue();
+		assertThat(huge().anyMatch(x -> x < 0)).isFalse();
+	}
+
+	@Test
+	public void shouldCheckAllElementsOfHugeSeqWithAllMatch() throws Exception {
+		assertThat(huge().allMatch(x -> x >= 0)).isTrue();
+		assertThat(huge().noneMatch(x -> x == HUGE)).isTrue();
+	}
+
+	@Test
+	public void shouldForceHugeSeq() throws Exception {
+		assertThat(huge().force().isEmpty()).isFalse();
+	}
+
+	@Test
+	public void shouldDropMostOfHugeSeq() throws Exception {
+		assertThat(huge().drop(HUGE - 1)).isEqualTo(of(HUGE - 1));
+		assertThat(iterate(0, x -> x + 1).drop(LARGE).head()).isEqualTo(LARGE);
+	}
+
+	@Test
+	public void shouldTraverseHugeSeqOfConsCellsWithIterator() throws Exception {
+		//given
+		final Iterator<Integer> iterator = iterate(0, x -> x + 1).take(HUGE).iterator();
+		final AtomicLong count = new AtomicLong();
+
+		//when
+		iterator.forEachRemaining(x -> count.incrementAndGet());
+
+		//then
+		assertThat(count.get()).isEqualTo(HUGE);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void shouldCompareLargeSeqsOfConsCells() throws Exception {
+		//given
+		final LazySeq<Integer> first = iterate(0, x -> x + 1).take(LARGE).force();
+		final LazySeq<Integer> second = iterate(0, x -> x + 1).take(LARGE).force();
+
+		//then
+		assertThat(first.equals(second)).isTrue();
+		assertThat(first.equals(iterate(0, x -> x + 1).take(LARGE - 1))).isFalse();
+		assertThat(first.hashCode()).isEqualTo(second.hashCode());
+		assertThat(first.size()).isEqualTo(LARGE);
+		assertThat(first.startsWith(iterate(0, x -> x + 1).take(LARGE))).isTrue();
+	}
+
+	@Test
+	public void shouldFilterSparseElementsSkippingMillionConsecutive() throws Exception {
+		//given
+		final LazySeq<Integer> sparse = iterate(1, x -> x + 1).filter(x -> x % LARGE == 0);
+
+		//then
+		assertThat(sparse.take(3)).isEqualTo(of(LARGE, 2 * LARGE, 3 * LARGE));
+	}
+
+	@Test
+	public void shouldFilterSparseElementsOfChunkedSeq() throws Exception {
+		//given
+		final LazySeq<Integer> sparse = iterate(1, x -> x + 1, 16).filter(x -> x % LARGE == 0);
+
+		//then
+		assertThat(sparse.take(2)).isEqualTo(of(LARGE, 2 * LARGE));
+	}
+
+	@Test
+	public void shouldConcatLargeList() throws Exception {
+		//given
+		final List<Integer> list = new ArrayList<>(iterate(0, x -> x + 1).take(LARGE));
+
+		//when
+		final LazySeq<Integer> fixed = concat(list, empty());
+		final LazySeq<Integer> lazy = concat(list, () -> of(-1));
+
+		//then
+		assertThat(fixed.size()).isEqualTo(LARGE);
+		assertThat(fixed.map(x -> x + 1).take(LARGE - 1).size()).isEqualTo(LARGE - 1);
+		assertThat(lazy.size()).isEqualTo(LARGE + 1);
+		assertThat(lazy.get(LARGE)).isEqualTo(-1);
+	}
+
+	@Test
+	public void shouldFlatMapLargeNumberOfEmptyResults() throws Exception {
+		//given
+		final LazySeq<Integer> flat = iterate(1, x -> x + 1).flatMap(x -> x % LARGE == 0 ? Arrays.asList(x) : new ArrayList<>());
+
+		//then
+		assertThat(flat.head()).isEqualTo(LARGE);
+	}
+
+	@Test
+	public void shouldDropWhileLargeNumberOfElements() throws Exception {
+		assertThat(iterate(0, x -> x + 1).dropWhile(x -> x < LARGE).head()).isEqualTo(LARGE);
+	}
+
+}
@@ -3,14 +3,22 @@ package com.nurkiewicz.lazyseq;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static com.nurkiewicz.lazyseq.LazySeq.numbers;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 /**
  * @author Tomasz Nurkiewicz
@@ -71,6 +79,93 @@ public class LazySeqStreamTest extends AbstractBaseTestCase {
 		assertThat(min).isEqualTo(Optional.of(5));
 	}
 
+	@Test
+	public void shouldMapToPrimitiveStreams() throws Exception {
+		//given
+		final LazySeq<String> words = LazySeq.of("a", "bb", "ccc", "dddd");
+
+		//when
+		final IntSummaryStatistics lengths = words.stream().mapToInt(String::length).summaryStatistics();
+		final long longSum = words.stream().mapToLong(w -> w.length() * 1_000_000_000L).sum();
+		final DoubleSummaryStatistics halves = words.stream().mapToDouble(w -> w.length() / 2.0).summaryStatistics();
+
+		//then
+		assertThat(lengths.getSum()).isEqualTo(10);
+		assertThat(lengths.getMax()).isEqualTo(4);
+		assertThat(longSum).isEqualTo(10_000_000_000L);
+		assertThat(halves.getAverage()).isEqualTo(1.25);
+	}
+
+	@Test
+	public void shouldMapInfiniteSeqToIntStreamLazily() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final int sum = numbers(1).stream().mapToInt(x -> {
+			invocations.incrementAndGet();
+			return x;
+		}).limit(10).sum();
+
+		//then
+		assertThat(sum).isEqualTo(55);
+		assertThat(invocations.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldFlatMapToPrimitiveStreams() throws Exception {
+		//given
+		final LazySeq<Integer> seq = LazySeq.of(1, 2, 3);
+
+		//when
+		final int[] ints = seq.stream().flatMapToInt(n -> IntStream.range(0, n)).toArray();
+		final long longs = seq.stream().flatMapToLong(n -> LongStream.of(n, -n)).count();
+		final double doubles = seq.stream().flatMapToDouble(n -> DoubleStream.of(n / 2.0)).sum();
+
+		//then
+		assertThat(ints).containsExactly(0, 0, 1, 0, 1, 2);
+		assertThat(longs).isEqualTo(6);
+		assertThat(doubles).isEqualTo(3.0);
+	}
+
+	@Test
+	public void shouldFlatMapInfiniteSeqToIntStreamLazily() throws Exception {
+		assertThat(numbers(1).stream().flatMapToInt(n -> IntStream.of(n, n)).limit(5).toArray()).containsExactly(1, 1, 2, 2, 3);
+	}
+
+	@Test
+	public void shouldRejectAnyOperationOnConsumedStream() throws Exception {
+		//given
+		final Stream<Integer> stream = numbers(1).take(3).stream();
+		final Stream<Integer> mapped = stream.map(n -> n * 2);
+		mapped.count();
+		final List<Function<Stream<Integer>, ?>> operations = asList(
+				s -> s.map(n -> n + 1),
+				s -> s.filter(n -> n > 1),
+				s -> s.limit(1),
+				s -> s.skip(1),
+				Stream::iterator,
+				Stream::spliterator,
+				Stream::parallel,
+				Stream::findFirst,
+				Stream::toArray,
+				s -> s.mapToInt(n -> n),
+				Stream::count);
+
+		//when
+		for (Function<Stream<Integer>, ?> operation : operations) {
+			for (Stream<Integer> consumed : asList(stream, mapped)) {
+				try {
+					operation.apply(consumed);
+					failBecauseExceptionWasNotThrown(IllegalStateException.class);
+				} catch (IllegalStateException e) {
+					//then
+					assertThat(e).hasMessageContaining("already been operated upon");
+				}
+			}
+		}
+	}
+
 	private Stream<Integer> stackedStream(LazySeq<Integer> stream) {
 		return stream.stream().
 				map(n -> n + 1).
@@ -0,0 +1,88 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+import static com.nurkiewicz.lazyseq.LazySeq.tabulate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Like {@link LazySeqHeadRetentionTest}, for pages memoized by {@link LazySeq#tabulate(int, java.util.function.Function)}.
+ */
+public class LazySeqTabulateHeadRetentionTest extends AbstractBaseTestCase {
+
+	private static final int PAYLOAD_BYTES = 1024;
+
+	/**
+	 * About 500 MiB of payloads, several times the forked heap.
+	 */
+	private static final int COUNT = 500_000;
+
+	@Test
+	public void shouldNotRetainPagesInForEach() throws Exception {
+		//given
+		final AtomicLong visited = new AtomicLong();
+
+		//when
+		LazySeq.forEach(oversized(), payload -> visited.incrementAndGet());
+
+		//then
+		assertThat(visited.get()).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainPagesInReduce() throws Exception {
+		//when
+		final long totalBytes = LazySeq.reduce(oversized(), 0L, (acc, payload) -> acc + payload.length);
+
+		//then
+		assertThat(totalBytes).isEqualTo((long) COUNT * PAYLOAD_BYTES);
+	}
+
+	@Test
+	public void shouldNotRetainPagesInIterator() throws Exception {
+		//given
+		long visited = 0;
+
+		//when
+		final Iterator<byte[]> iterator = oversized().iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			++visited;
+		}
+
+		//then
+		assertThat(visited).isEqualTo(COUNT);
+	}
+
+	@Test
+	public void shouldNotRetainPagesInSpliterator() throws Exception {
+		//when
+		final long totalBytes = StreamSupport.stream(oversized().spliterator(), false)
+				.mapToLong(payload -> payload.length)
+				.sum();
+
+		//then
+		assertThat(totalBytes).isEqualTo((long) COUNT * PAYLOAD_BYTES);
+	}
+
+	@Test
+	public void shouldNotRetainPagesInStreamForEach() throws Exception {
+		//given
+		final AtomicLong visited = new AtomicLong();
+
+		//when
+		oversized().stream().map(payload -> payload.length).forEach(length -> visited.incrementAndGet());
+
+		//then
+		assertThat(visited.get()).isEqualTo(COUNT);
+	}
+
+	private static LazySeq<byte[]> oversized() {
+		return tabulate(0, i -> new byte[PAYLOAD_BYTES]).take(COUNT);
+	}
+
+}
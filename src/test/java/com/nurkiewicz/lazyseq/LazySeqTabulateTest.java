@@ -4,6 +4,20 @@ import com.nurkiewicz.lazyseq.samples.Seqs;
 import org.apache.commons.lang.StringUtils;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static com.nurkiewicz.lazyseq.LazySeq.of;
 import static com.nurkiewicz.lazyseq.LazySeq.tabulate;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -57,4 +71,172 @@ public class LazySeqTabulateTest extends AbstractBaseTestCase {
 		assertThat(piEstimation).isEqualTo(Math.PI, offset(0.01));
 	}
 
+	@Test
+	public void shouldNotEvaluateAnythingUntilAccessed() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> squares = tabulate(0, i -> {
+			invocations.incrementAndGet();
+			return i * i;
+		});
+
+		//then
+		assertThat(invocations.get()).isZero();
+		assertThat(squares.toString()).isEqualTo("[0, ?]");
+	}
+
+	@Test
+	public void shouldAccessElementDirectlyWithoutEvaluatingPrevious() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> squares = tabulate(0, i -> {
+			invocations.incrementAndGet();
+			return i * i;
+		});
+
+		//when
+		final int millionth = squares.get(1_000);
+		final int dropped = squares.drop(40_000).head();
+
+		//then
+		assertThat(millionth).isEqualTo(1_000_000);
+		assertThat(dropped).isEqualTo(1_600_000_000);
+		assertThat(invocations.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldMemoizeAccessedElements() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = tabulate(10, i -> {
+			invocations.incrementAndGet();
+			return i;
+		});
+
+		//when
+		seq.get(5);
+		seq.get(5);
+		seq.drop(5).head();
+		seq.take(10).force();
+		seq.take(10).force();
+
+		//then
+		assertThat(seq.get(5)).isEqualTo(15);
+		assertThat(invocations.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldSupportGeneratorRecursivelyAccessingSameSeq() throws Exception {
+		//given
+		final AtomicReference<LazySeq<Long>> fib = new AtomicReference<>();
+		fib.set(tabulate(0, n -> n < 2 ? (long) n : fib.get().get(n - 1) + fib.get().get(n - 2)));
+
+		//when
+		final long fib90 = fib.get().get(90);
+
+		//then
+		assertThat(fib90).isEqualTo(2_880_067_194_370_816_120L);
+	}
+
+	@Test
+	public void shouldForceTakenRangeSequentiallyInOrder() throws Exception {
+		//given
+		final List<Integer> evaluated = new ArrayList<>();
+		final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			workers.add(Thread.currentThread());
+			evaluated.add(i);
+			return i * 2;
+		});
+
+		//when
+		seq.take(10_000).force();
+
+		//then
+		assertThat(evaluated).hasSize(10_000);
+		for (int i = 0; i < evaluated.size(); ++i) {
+			assertThat(evaluated.get(i)).isEqualTo(i);
+		}
+		assertThat(workers).containsExactly(Thread.currentThread());
+		assertThat(seq.take(10_000).toList()).hasSize(10_000);
+		assertThat(evaluated).hasSize(10_000);
+	}
+
+	@Test
+	public void shouldForceTakenRangeInParallelOnGivenPool() throws Exception {
+		//given
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			workers.add(Thread.currentThread());
+			invocations.incrementAndGet();
+			return i * 2;
+		});
+
+		//when
+		seq.take(10_000).parallelForce(pool);
+		pool.shutdown();
+
+		//then
+		assertThat(seq.take(10_000).size()).isEqualTo(10_000);
+		assertThat(seq.get(9_999)).isEqualTo(19_998);
+		assertThat(invocations.get()).isEqualTo(10_000);
+		for (Thread worker : workers) {
+			assertThat(worker.getName()).startsWith("ForkJoinPool-");
+		}
+	}
+
+	@Test
+	public void shouldForceOtherSequencesSequentiallyWhenParallelForced() throws Exception {
+		//given
+		final LazySeq<Integer> seq = tabulate(0, i -> i).take(100).map(i -> i + 1);
+
+		//when
+		final LazySeq<Integer> forced = seq.parallelForce(ForkJoinPool.commonPool());
+
+		//then
+		assertThat(forced).isSameAs(seq);
+		assertThat(forced.toString()).startsWith("[1, 2, 3");
+		assertThat(forced.size()).isEqualTo(100);
+	}
+
+	@Test
+	public void shouldSumTakenRangeWithParallelStream() throws Exception {
+		//given
+		final LazySeq<Long> seq = tabulate(1, i -> (long) i);
+
+		//when
+		final long sum = seq.take(100_000).parallelStream().mapToLong(x -> x).sum();
+
+		//then
+		assertThat(sum).isEqualTo(5_000_050_000L);
+	}
+
+	@Test
+	public void shouldEvaluateEachElementExactlyOnceUnderContention() throws Exception {
+		//given
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			invocations.incrementAndGet();
+			return i;
+		});
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final List<Callable<Integer>> readers = IntStream.range(0, 8)
+				.mapToObj(t -> (Callable<Integer>) () -> seq.take(5_000).reduce(0, Integer::sum))
+				.collect(Collectors.toList());
+
+		//when
+		final List<Future<Integer>> sums = executor.invokeAll(readers);
+		executor.shutdown();
+
+		//then
+		for (Future<Integer> sum : sums) {
+			assertThat(sum.get()).isEqualTo(12_497_500);
+		}
+		assertThat(invocations.get()).isEqualTo(5_000);
+	}
+
 }
@@ -0,0 +1,162 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nurkiewicz.lazyseq.LazySeq.continually;
+import static com.nurkiewicz.lazyseq.LazySeq.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LazySeqWindowedTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldRejectNonPositiveWindow() throws Exception {
+		try {
+			continually(() -> 1, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldGenerateElementsLazily() throws Exception {
+		//given
+		final AtomicInteger counter = new AtomicInteger();
+
+		//when
+		final LazySeq<Integer> seq = continually(counter::incrementAndGet, 3);
+
+		//then
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(seq.toString()).isEqualTo("[1, ?]");
+		assertThat(seq.take(3)).containsExactly(1, 2, 3);
+		assertThat(counter.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldKeepElementsWithinWindow() throws Exception {
+		//given
+		final AtomicInteger counter = new AtomicInteger();
+		final LazySeq<Integer> seq = continually(counter::incrementAndGet, 5);
+
+		//when
+		final LazySeq<Integer> fifth = seq.drop(4);
+
+		//then
+		assertThat(seq.head()).isEqualTo(1);
+		assertThat(seq.take(5)).containsExactly(1, 2, 3, 4, 5);
+		assertThat(fifth.head()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldThrowWhenAccessingElementOutsideOfWindow() throws Exception {
+		//given
+		final AtomicInteger counter = new AtomicInteger();
+		final LazySeq<Integer> seq = continually(counter::incrementAndGet, 5);
+		final LazySeq<Integer> second = seq.tail();
+
+		//when
+		seq.drop(10).head();
+
+		//then
+		try {
+			second.head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).contains("position 1").contains("last 5 elements").contains("position 10");
+		}
+		try {
+			seq.tail();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).contains("position 0");
+		}
+	}
+
+	@Test
+	public void shouldSupportSlidingAndScanWithinWindow() throws Exception {
+		//given
+		final AtomicInteger counter = new AtomicInteger();
+		final LazySeq<Integer> seq = continually(counter::incrementAndGet, 4);
+
+		//when
+		final List<List<Integer>> windows = seq.sliding(3).take(4).toList();
+		final List<Integer> sums = continually(() -> 1, 2).scan(0, Integer::sum).take(5).toList();
+
+		//then
+		assertThat(windows).hasSize(4);
+		assertThat(windows.get(0)).containsExactly(1, 2, 3);
+		assertThat(windows.get(1)).containsExactly(2, 3, 4);
+		assertThat(windows.get(2)).containsExactly(3, 4, 5);
+		assertThat(windows.get(3)).containsExactly(4, 5, 6);
+		assertThat(sums).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	public void shouldKeepMemoryFlatEvenWhenBeginningIsReferenced() throws Exception {
+		//given
+		final LazySeq<byte[]> readings = continually(() -> new byte[10_000], 100);
+
+		//when
+		final LazySeq<byte[]> far = readings.drop(300_000);
+
+		//then
+		assertThat(far.head()).hasSize(10_000);
+		try {
+			readings.head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//expected
+		}
+	}
+
+	@Test
+	public void shouldReportExpiredElementWhileGeneratorIsBlocked() throws Exception {
+		//given
+		final CountDownLatch generating = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger counter = new AtomicInteger();
+		final LazySeq<Integer> seq = continually(() -> {
+			if (counter.get() == 2) {
+				generating.countDown();
+				awaitUninterruptibly(release);
+			}
+			return counter.incrementAndGet();
+		}, 1);
+		final LazySeq<Integer> second = seq.tail();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final Future<LazySeq<Integer>> third = executor.submit(second::tail);
+		generating.await();
+
+		//when
+		try {
+			seq.head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+			assertThat(third.isDone()).isFalse();
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+		assertThat(third.get(1, TimeUnit.SECONDS).head()).isEqualTo(3);
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.nurkiewicz.lazyseq;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongLazySeqTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldGenerateNumbersBeyondIntRange() throws Exception {
+		//given
+		final LongLazySeq seq = LongLazySeq.numbers(Integer.MAX_VALUE, 1_000_000_000L);
+
+		//then
+		assertThat(seq.get(2)).isEqualTo(Integer.MAX_VALUE + 2_000_000_000L);
+	}
+
+	@Test
+	public void shouldMapFilterAndSum() throws Exception {
+		//given
+		final LongLazySeq powersOfTwo = LongLazySeq.iterate(1, x -> x * 2);
+
+		//when
+		final LongLazySeq big = powersOfTwo.filter(x -> x > Integer.MAX_VALUE).map(x -> x / 2);
+
+		//then
+		assertThat(big.take(3).toArray()).containsExactly(1L << 30, 1L << 31, 1L << 32);
+		assertThat(big.take(3).sum()).isEqualTo((1L << 30) + (1L << 31) + (1L << 32));
+	}
+
+	@Test
+	public void shouldConvertToAndFromLazySeq() throws Exception {
+		//given
+		final LongLazySeq seq = LazySeq.of("1", "22").mapToLong(Long::parseLong);
+
+		//then
+		assertThat(seq.boxed()).isEqualTo(LazySeq.of(1L, 22L));
+		assertThat(seq.stream().sum()).isEqualTo(23L);
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Rough comparison of CPU-bound map/filter throughput: {@link LazySeq#stream()} versus {@link LazySeq#parallelStream()},
+ * on the common pool and on a caller-supplied {@link ForkJoinPool}. Not run by the test suite, start with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.nurkiewicz.lazyseq.ParallelStreamBenchmark
+ * </pre>
+ */
+public class ParallelStreamBenchmark {
+
+	private static final int SIZE = 200_000;
+	private static final int WARMUP = 10;
+	private static final int MEASURED = 10;
+
+	/**
+	 * Rounds of hashing per element, so that work per element outweighs traversal.
+	 */
+	private static final int ROUNDS = 200;
+
+	public static void main(String[] args) throws Exception {
+		final Integer[] elements = new Integer[SIZE];
+		for (int i = 0; i < SIZE; ++i) {
+			elements[i] = i;
+		}
+		final LazySeq<Integer> source = LazySeq.of(elements);
+		final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		try {
+			final double sequential = measure(() -> pipeline(source.stream()));
+			final double parallel = measure(() -> pipeline(source.parallelStream()));
+			final double custom = measure(() -> pool.submit(() -> pipeline(source.parallelStream())).join());
+			System.out.printf("%d core(s): sequential %7.1f ns/element, parallel %7.1f ns/element, custom pool %7.1f ns/element%n",
+					Runtime.getRuntime().availableProcessors(), sequential, parallel, custom);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static long pipeline(Stream<Integer> stream) {
+		return stream
+				.map(ParallelStreamBenchmark::burn)
+				.filter(x -> (x & 1) == 0)
+				.mapToLong(x -> x)
+				.sum();
+	}
+
+	private static int burn(int x) {
+		int hash = x;
+		for (int i = 0; i < ROUNDS; ++i) {
+			hash = hash * 31 + (hash >>> 7);
+		}
+		return hash;
+	}
+
+	private static double measure(Run run) {
+		long blackhole = 0;
+		for (int i = 0; i < WARMUP; ++i) {
+			blackhole += run.go();
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED; ++i) {
+			final long start = System.nanoTime();
+			blackhole += run.go();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		if (blackhole == 42) {
+			System.out.println();
+		}
+		return (double) best / SIZE;
+	}
+
+	@FunctionalInterface
+	private interface Run {
+		long go();
+	}
+
+}
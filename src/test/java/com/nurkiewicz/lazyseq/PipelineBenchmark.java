@@ -0,0 +1,76 @@
+package com.nurkiewicz.lazyseq;
+
+import java.util.stream.Stream;
+
+/**
+ * Rough comparison of 1-, 3- and 6-stage map/filter pipelines: stacked on {@link LazySeq}
+ * (every stage memoized) versus fused on {@link LazySeq#stream()}. Not run by the test suite, start with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.nurkiewicz.lazyseq.PipelineBenchmark
+ * </pre>
+ */
+public class PipelineBenchmark {
+
+	private static final int SIZE = 1_000_000;
+	private static final int WARMUP = 10;
+	private static final int MEASURED = 10;
+
+	public static void main(String[] args) {
+		final Integer[] elements = new Integer[SIZE];
+		for (int i = 0; i < SIZE; ++i) {
+			elements[i] = i;
+		}
+		final LazySeq<Integer> source = LazySeq.of(elements);
+		for (int stages : new int[]{1, 3, 6}) {
+			final double stacked = measure(() -> LazySeq.reduce(stacked(source, stages), 0L, (acc, x) -> acc + x));
+			final double fused = measure(() -> (long) fused(source.stream(), stages).reduce(0, Integer::sum));
+			System.out.printf("%d stage(s): stacked %6.1f ns/element, fused stream %6.1f ns/element%n", stages, stacked, fused);
+		}
+	}
+
+	private static LazySeq<Integer> stacked(LazySeq<Integer> seq, int stages) {
+		seq = seq.map(x -> x + 1);
+		if (stages >= 3) {
+			seq = seq.filter(x -> x % 3 != 0).map(x -> x * 2);
+		}
+		if (stages >= 6) {
+			seq = seq.filter(x -> x % 5 != 0).map(x -> x - 1).filter(x -> x < Integer.MAX_VALUE);
+		}
+		return seq;
+	}
+
+	private static Stream<Integer> fused(Stream<Integer> stream, int stages) {
+		stream = stream.map(x -> x + 1);
+		if (stages >= 3) {
+			stream = stream.filter(x -> x % 3 != 0).map(x -> x * 2);
+		}
+		if (stages >= 6) {
+			stream = stream.filter(x -> x % 5 != 0).map(x -> x - 1).filter(x -> x < Integer.MAX_VALUE);
+		}
+		return stream;
+	}
+
+	private static double measure(Run run) {
+		long blackhole = 0;
+		for (int i = 0; i < WARMUP; ++i) {
+			blackhole += run.go();
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED; ++i) {
+			final long start = System.nanoTime();
+			blackhole += run.go();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		if (blackhole == 42) {
+			System.out.println();
+		}
+		return (double) best / SIZE;
+	}
+
+	@FunctionalInterface
+	private interface Run {
+		long go();
+	}
+
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.nurkiewicz.lazyseq.LazySeq.cons;
+import static com.nurkiewicz.lazyseq.LazySeq.generate;
 import static com.nurkiewicz.lazyseq.LazySeq.of;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,6 +49,12 @@ public class CollatzConjectureTest extends AbstractBaseTestCase {
 				containsKey(8L);
 	}
 
+	@Test
+	public void shouldProduceSameProgressionWithGenerator() throws Exception {
+		assertThat(generatedCollatz(10)).isEqualTo(of(10L, 5L, 16L, 8L, 4L, 2L, 1L));
+		assertThat(generatedCollatz(63_728_127)).hasSize(950);
+	}
+
 	private LazySeq<Long> collatz(long from) {
 		if (from > 1) {
 			final long next = from % 2 == 0 ? from / 2 : from * 3 + 1;
@@ -57,6 +64,17 @@ public class CollatzConjectureTest extends AbstractBaseTestCase {
 		}
 	}
 
+	private LazySeq<Long> generatedCollatz(long from) {
+		return generate(yielder -> {
+			long current = from;
+			while (current > 1) {
+				yielder.yield(current);
+				current = current % 2 == 0 ? current / 2 : current * 3 + 1;
+			}
+			yielder.yield(1L);
+		});
+	}
+
 	private final Map<Long, LazySeq<Long>> collatzCache = new ConcurrentHashMap<>(ImmutableMap.of(1L, of(1L)));
 
 	private LazySeq<Long> cachedCollatz(long from) {